@@ -0,0 +1,141 @@
+package Benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Controllers.MineSweeperController;
+import Models.MineSweeperBoard;
+import Models.MineSweeperTile;
+import Models.SavedGame;
+import Models.ScoreBoard;
+import Utils.GUESS_STATUS;
+
+/**
+ * Benchmarks for the game as the player drives it, through the board model and the controller,
+ * on every difficulty setting.
+ *
+ * Each benchmark that plays moves gets a freshly generated board before every call, since the moves
+ * change the board. Setting up the board is not timed, but the GC profiler does count what it allocates,
+ * so the allocation rates of those benchmarks include one new game each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    private static final long SEED = 57;
+
+    @Param({"Very Easy", "Easy", "Normal", "Hard", "Very Hard"})
+    public String difficulty;
+
+    private MineSweeperTile[][] tiles;
+    private ScoreBoard scoreBoard;
+    private Random random;
+
+    /**
+     * A new game whose first click, on the middle tile, is still to come.
+     */
+    @State(Scope.Thread)
+    public static class Game {
+        MineSweeperController controller;
+        int middleRow, middleCol;
+
+        @Setup(Level.Invocation)
+        public void setUp(BoardBenchmark bench) {
+            controller = new MineSweeperController(bench.difficulty);
+            middleRow = controller.getRows() / 2;
+            middleCol = controller.getCols() / 2;
+            controller.seedBoardGeneration(middleRow, middleCol, new Random(SEED));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scoreBoard = new ScoreBoard();
+        random = new Random(SEED);
+        MineSweeperBoard board = new MineSweeperBoard(difficulty);
+        board.createBoard(board.getRows() / 2, board.getCols() / 2, new Random(SEED));
+        tiles = board.getBoard();
+    }
+
+    /**
+     * Places the mines and counts them up, as on the player's first click.
+     */
+    @Benchmark
+    public MineSweeperBoard createBoard() {
+        MineSweeperBoard board = new MineSweeperBoard(difficulty);
+        board.createBoard(board.getRows() / 2, board.getCols() / 2, random);
+        return board;
+    }
+
+    /**
+     * Counts the mines around every tile one tile at a time, through the MineSweeperTile views.
+     * The counts keep adding up from one call to the next, which does not change the work done.
+     */
+    @Benchmark
+    public MineSweeperTile[][] updateCount() {
+        for (MineSweeperTile[] row : tiles)
+            for (MineSweeperTile tile : row)
+                tile.updateCount(tiles);
+        return tiles;
+    }
+
+    /**
+     * Reveals the region of zero tiles around the first click.
+     */
+    @Benchmark
+    public MineSweeperController floodFill(Game game) {
+        game.controller.updateTileStatus(game.middleRow, game.middleCol, GUESS_STATUS.GUESSED);
+        return game.controller;
+    }
+
+    /**
+     * Chords around every tile of the board in turn, as if the player double clicked all of them.
+     */
+    @Benchmark
+    public boolean updateTilesAround(Game game) {
+        MineSweeperController controller = game.controller;
+        controller.updateTileStatus(game.middleRow, game.middleCol, GUESS_STATUS.GUESSED);
+        for (int row = 0; row < controller.getRows(); row++)
+            for (int col = 0; col < controller.getCols(); col++)
+                controller.updateTilesAround(row, col);
+        return controller.isGameOver();
+    }
+
+    /**
+     * Encodes a game in progress in the save format and loads it back into the controller.
+     * No file is written, so this times the format rather than the disk.
+     */
+    @Benchmark
+    public MineSweeperController saveAndLoad(Game game) throws IOException {
+        game.controller.updateTileStatus(game.middleRow, game.middleCol, GUESS_STATUS.GUESSED);
+        game.controller.loadGame(SavedGame.decode(game.controller.encodeGame()));
+        return game.controller;
+    }
+
+    /**
+     * Adds a time to the scoreboard, without writing the scores file.
+     */
+    @Benchmark
+    public Double[] addNewTime() {
+        scoreBoard.addNewTime(random.nextDouble() * 1000, difficulty, false);
+        return scoreBoard.getTopTimes(difficulty);
+    }
+}
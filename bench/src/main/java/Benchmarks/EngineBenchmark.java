@@ -0,0 +1,166 @@
+package Benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Models.BoardState;
+import Models.GameEngine;
+import Models.ProbabilityEngine;
+import Models.SavedGame;
+import Models.Solver;
+
+/**
+ * Benchmarks for the headless GameEngine on custom board sizes, up to boards far larger than any difficulty,
+ * to show how generation, revealing and saving grow with the size of the board.
+ *
+ * The size parameter is written as ROWSxCOLS, and one in every divider tiles is a mine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EngineBenchmark {
+
+    private static final long SEED = 57;
+
+    @Param({"16x24", "256x256", "1024x1024", "4096x4096"})
+    public String size;
+
+    @Param({"5"})
+    public int divider;
+
+    private GameEngine engine, played;
+    private Solver solver;
+    private ProbabilityEngine probabilities, playedProbabilities;
+    private SavedGame saved;
+    private ByteBuffer encoded;
+    private int middle;
+    private SplittableRandom random;
+    // safe tiles all over the played board, revealed one per move, and how many have been used
+    private int[] moves;
+    private int numMoves;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        String[] dimensions = size.split("x");
+        int rows = Integer.parseInt(dimensions[0]);
+        int cols = Integer.parseInt(dimensions[1]);
+        random = new SplittableRandom(SEED);
+        engine = new GameEngine(rows, cols, rows * cols / divider, random);
+        middle = engine.getGrid().index(rows / 2, cols / 2);
+        solver = new Solver(engine.getGrid());
+        probabilities = new ProbabilityEngine(engine.getGrid());
+        played = new GameEngine(rows, cols, rows * cols / divider, random);
+        playedProbabilities = new ProbabilityEngine(played.getGrid());
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpGame() {
+        // a game with its first reveal made, for the benchmarks that only read it
+        engine.newGame(random.split());
+        engine.reveal(middle);
+        BoardState state = engine.getState();
+        saved = new SavedGame("Custom", state.getRows(), state.getCols(), state.getNumMines(), 0,
+                false, true, state);
+        encoded = saved.encode();
+
+        // a game well under way, with safe tiles revealed all over it, so its frontier is in thousands of pieces
+        played.newGame(random.split());
+        played.reveal(middle);
+        BoardState playedState = played.getState();
+        moves = new int[Math.max(16, playedState.size() / 200)];
+        for (int i = 0; i < moves.length; i++) {
+            int cell;
+            do cell = random.nextInt(playedState.size());
+            while (playedState.isMine(cell));
+            moves[i] = cell;
+        }
+        for (numMoves = 0; numMoves < moves.length / 2; numMoves++)
+            played.reveal(moves[numMoves]);
+        playedProbabilities.compute(playedState);
+    }
+
+    /**
+     * Places the mines and counts them up, reusing the engine's arrays.
+     */
+    @Benchmark
+    public int generate() {
+        engine.newGame(random);
+        engine.generate(middle, random);
+        return engine.getNumMines();
+    }
+
+    /**
+     * Places the mines and reveals the region of zero tiles around the first click.
+     */
+    @Benchmark
+    public int firstReveal() {
+        engine.newGame(random);
+        return engine.reveal(middle);
+    }
+
+    /**
+     * Works out every safe tile and mine the player could know of after the first reveal, as the Hint button does.
+     */
+    @Benchmark
+    public int solve() {
+        solver.solve(engine.getState());
+        return solver.getNumSafe();
+    }
+
+    /**
+     * Works out the chance of a mine on every tile after the first reveal, as the heat map does after every move.
+     * The components are kept from one call to the next, so this is the cost of a move that changes none of them:
+     * solving, finding the components again and putting them back together.
+     */
+    @Benchmark
+    public double probabilities() {
+        return probabilities.compute(engine.getState())[middle];
+    }
+
+    /**
+     * Makes a move on the game well under way, revealing another safe tile, then works out every chance again.
+     * This is the heat map's cost after a move on a big board: only the components around the move are enumerated
+     * again, but all of them are put back together. Once the prepared moves run out it is the cost of a move that
+     * changes nothing.
+     */
+    @Benchmark
+    public double probabilitiesAfterMove() {
+        if (numMoves < moves.length)
+            played.reveal(moves[numMoves++]);
+        return playedProbabilities.compute(played.getState())[middle];
+    }
+
+    /**
+     * Writes the game in the save format.
+     */
+    @Benchmark
+    public ByteBuffer encode() {
+        return saved.encode();
+    }
+
+    /**
+     * Reads the game back from the save format, rebuilding the mine counts.
+     */
+    @Benchmark
+    public SavedGame decode() throws IOException {
+        return SavedGame.decode(encoded.duplicate());
+    }
+}
@@ -0,0 +1,76 @@
+package Benchmarks;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Models.Leaderboard;
+
+/**
+ * Benchmarks for the Leaderboard with several threads submitting times at once, as the server's games would,
+ * and for asking it where a time ranks. The results are in operations per second across all the threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LeaderboardBenchmark {
+
+    private static final long SEED = 57;
+
+    @Param({"10", "1000"})
+    public int topK;
+
+    private Leaderboard leaderboard;
+
+    /**
+     * Each thread's own random times.
+     */
+    @State(Scope.Thread)
+    public static class Times {
+        SplittableRandom random = new SplittableRandom(SEED + Thread.currentThread().getId());
+
+        double next() {
+            return 10 + random.nextDouble() * 990;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        leaderboard = new Leaderboard(topK);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < 100_000; i++)
+            leaderboard.submit("Normal", 10 + random.nextDouble() * 990);
+    }
+
+    /**
+     * Submits a time, which only rarely makes it into the best times once the leaderboard is full.
+     */
+    @Benchmark
+    public boolean submit(Times times) {
+        return leaderboard.submit("Normal", times.next());
+    }
+
+    /**
+     * Works out the percentile rank of a time from the histogram.
+     */
+    @Benchmark
+    public double percentile(Times times) {
+        return leaderboard.getPercentile("Normal", times.next());
+    }
+}
@@ -0,0 +1,70 @@
+package Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Models.BoardState;
+import Models.Difficulty;
+import Models.HexGrid;
+import Models.NoGuessGenerator;
+
+/**
+ * Benchmarks for placing mines so the game can be won without guessing, which is what happens on the first click
+ * of such a game. The results are sampled, so JMH reports the percentiles of how long a board takes, p99 included.
+ * The generator's own metrics are printed at the end of each run, since a fast board that fell back to random
+ * placement doesn't count for much.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoGuessBenchmark {
+
+    @Param({"Normal", "Hard", "Very Hard"})
+    public String difficulty;
+
+    private NoGuessGenerator generator;
+    private HexGrid grid;
+    private int numMines, middle;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        Difficulty setting = Difficulty.fromName(difficulty);
+        generator = new NoGuessGenerator();
+        grid = new HexGrid(setting.getRows(), setting.getCols());
+        numMines = setting.getNumMines();
+        middle = grid.index(setting.getRows() / 2, setting.getCols() / 2);
+    }
+
+    /**
+     * Generates a board from a new seed each time.
+     */
+    @Benchmark
+    public BoardState generate() {
+        return generator.generate(grid, numMines, middle, seed++);
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%n%s: %d boards, %.2f attempts and %.1f repairs per board, %d fallbacks, slowest %.1f ms%n",
+                difficulty, generator.getBoards(), generator.getAttemptsPerBoard(),
+                generator.getRepairs() / (double) Math.max(1, generator.getBoards()), generator.getFallbacks(),
+                generator.getMaxMillis());
+        generator.close();
+    }
+}
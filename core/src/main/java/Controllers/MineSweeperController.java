@@ -0,0 +1,426 @@
+package Controllers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Observer;
+import java.util.Random;
+
+import Models.MineSweeperBoard;
+import Models.MineSweeperTile;
+import Models.MoveLog;
+import Models.NoGuessGenerator;
+import Models.ProbabilityEngine;
+import Models.SavedGame;
+import Models.Solver;
+import Models.ScoreBoard;
+import Utils.GUESS_STATUS;
+
+/**
+ * This class stores the controller for the Minesweeper game.
+ *
+ * The controller's responsibility is to organize the updating of a board according to user inputs,
+ * and to relay information to and from the model, especially for the purpose of save/load functionality
+ * and reporting when the game is over. The rules themselves are carried out by the model's GameEngine.
+ *
+ */
+public class MineSweeperController {
+
+	private final MineSweeperBoard model;
+	private final ScoreBoard scoreBoard;
+	private boolean gameOver; // tracks if the end of the game has been reported
+	private boolean win;
+	private Solver solver; // only made once someone asks for a hint
+	private ProbabilityEngine probabilityEngine; // only made once someone asks for the chances of mines
+	private final NoGuessGenerator noGuessGenerator; // null if this controller can't play without guessing
+
+	/**
+	 * Constructor for the controller.
+	 *
+	 * When initialized, the controller immediately creates a new board with
+	 * the size and mine density appropriate for the selected difficulty.
+	 *
+	 * @param difficulty A string representing the difficulty of the game, which affects board size and mine density.
+	 */
+	public MineSweeperController(String difficulty) {
+		this(difficulty, null);
+	}
+
+	/**
+	 * Constructor for a controller that can also place its mines so the game can be won without guessing.
+	 *
+	 * The generator is only borrowed, so the caller closes it, and can share it between controllers
+	 * so that its metrics cover all of their games.
+	 *
+	 * @param difficulty A string representing the difficulty of the game, which affects board size and mine density.
+	 * @param noGuessGenerator The generator used once setNoGuess(true) is called, or null for none.
+	 */
+	public MineSweeperController(String difficulty, NoGuessGenerator noGuessGenerator) {
+		this.model = new MineSweeperBoard(difficulty);
+		this.scoreBoard = new ScoreBoard();
+		this.noGuessGenerator = noGuessGenerator;
+		win = true; // keeps track of the total number of guesses
+	}
+
+	/**
+	 * Constructs a controller from a saved file.
+	 *
+	 * @param savedController The file in which the saved game is stored.
+	 * @throws IOException If file loading failed, or the file does not hold a valid saved game.
+	 */
+	public MineSweeperController(File savedController) throws IOException {
+		this("Normal");
+		this.loadGame(savedController);
+	}
+
+	/**
+	 * This method determines the current status of the clicked tile, and based
+	 * on the status parameter, assigns a new status to the tile.
+	 *
+	 * @param row is the y coord of the tile
+	 * @param col is the x coord of the tile
+	 * @param status is an enum either GUESSED or FLAGGED, depending on the mouse button clicked.
+	 */
+	public void updateTileStatus(int row, int col, GUESS_STATUS status) {
+		// this is a complex guard statement to make sure we are in bounds of the board
+		// it is needed from updateTilesAround
+		if (row >= model.getRows() || row < 0 || col >= model.getCols() || col < 0) return;
+		if (gameOver) return; // basic guard statements
+
+		/* A guess reveals the tile, placing all the bombs first if this is the player's first click.
+		 * A flag flags an unguessed tile, or "unflags" a flagged one and sets it back to UNGUESSED.
+		 * Flags are ignored until the board has been generated.
+		 */
+		if (status.equals(GUESS_STATUS.GUESSED))
+			model.revealTile(row, col); // also reveals any connected zero tiles
+		else if (status.equals(GUESS_STATUS.FLAGGED))
+			model.toggleFlag(row, col);
+
+		checkGameOver();
+	}
+
+	/**
+	 * When the user clicks a tile, this method updates all of the tiles around it.
+	 *
+	 * @param row The row of the tile to update around.
+	 * @param col The column of the tile to update around.
+	 */
+	public void updateTilesAround(int row, int col) {
+		if (row >= model.getRows() || row < 0 || col >= model.getCols() || col < 0) return;
+		if (gameOver) return;
+
+		model.chord(row, col); // does nothing if the tile in the middle is flagged
+		checkGameOver();
+	}
+
+	/**
+	 * Checks if the last move ended the game, either by revealing a bomb or by revealing every tile
+	 * without a bomb. The model has already shown all the bombs, so we only need to report it.
+	 */
+	private void checkGameOver() {
+		if (model.isGameOver() && !gameOver) {
+			win = model.isWon();
+			gameIsOver(); // the game is over, so we update the controller to reflect this
+		}
+	}
+
+	/**
+	 * Adds an observer to the model's observer list.
+	 *
+	 * @param o The observer to be added. Most likely a view object.
+	 */
+	public void setObserver(Observer o) {
+		model.setObserver(o);
+	}
+
+	/**
+	 * Saves the game by outputting the current state of the board and the instance variables to a file.
+	 * The file uses the compact binary format described in SavedGame.
+	 * @param f - the file to save the game into
+	 * @throws IOException If the game fails to save.
+	 */
+	public void saveGame(File f) throws IOException {
+		snapshot().write(f);
+	}
+
+	/**
+	 * Encodes the game in the save file format without writing it anywhere, so that another thread can write it.
+	 * The game can go on being played as soon as this returns, since the buffer is a copy.
+	 * @return - a buffer holding the saved game, ready to be read from
+	 */
+	public ByteBuffer encodeGame() {
+		return snapshot().encode();
+	}
+
+	/**
+	 * Picks out the values of the game that need saving.
+	 * @return - a SavedGame for the current state of the game
+	 */
+	private SavedGame snapshot() {
+		// We have no need to save the model's observers, so we only pick out the values that matter
+		return new SavedGame(model.getDifficulty(), model.getRows(), model.getCols(), model.getNumBombs(),
+				model.getMillisElapsed(), gameOver, win, model.getState());
+	}
+
+	/**
+	 * Loads the game by reading off the board and the instance variables stored in the chosen file.
+	 * @param f - the file to read the game from
+	 * @throws IOException If opening the file fails, or it does not hold a valid saved game
+	 */
+	public void loadGame(File f) throws IOException {
+		loadGame(SavedGame.read(f));
+	}
+
+	/**
+	 * Loads a game which has already been read, such as one restored from an autosave.
+	 * @param saved - the game to load
+	 * @throws IOException If the saved board size does not match its difficulty
+	 */
+	public void loadGame(SavedGame saved) throws IOException {
+		model.setDifficulty(saved.getDifficulty());
+		model.setBoardDimensions(saved.getDifficulty());
+		if (model.getRows() != saved.getRows() || model.getCols() != saved.getCols())
+			throw new IOException("Saved board size does not match its difficulty");
+
+		model.setNumBombs(saved.getNumBombs());
+		model.setState(saved.getState(), saved.isGameOver(), saved.isWin());
+		model.setMillisElapsed(saved.getElapsedMillis());
+
+		// set controller variables for this specific file
+		this.gameOver = saved.isGameOver();
+		this.win = saved.isWin();
+	}
+
+	/**
+	 * This takes a seeded random and uses it to generate a known board
+	 * @param row - the starting row
+	 * @param col - the starting col
+	 * @param random - a seeded random from a testcase
+	 */
+	public void seedBoardGeneration(int row, int col, Random random) {
+		model.createBoard(row, col, random);
+	}
+
+	//GETTERS AND SETTERS
+
+	/**
+	 * Checks if the game is over
+	 * @return true if the game is over, false if we are still playing
+	 */
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	/**
+	 * Sets gameOver to true and calls the model's notify method.
+	 */
+	public void gameIsOver() {
+		gameOver = true;
+		model.disableTimer(); // stop the clock so the final time stays put
+		if (win) scoreBoard.addNewTime(model.getSecondsElapsed(), model.getDifficulty(), true);
+		model.notifyObservers();
+	}
+
+	/**
+	 * Checks if the user won
+	 * @return true if the user won, false if they lost
+	 */
+	public boolean win() {
+		return win;
+	}
+
+	/**
+	 * Gets the current board for this game
+	 * @return The MineSweeperTile[][] array from this controller's current model.
+	 */
+	public MineSweeperTile[][] getBoard() {
+		return this.model.getBoard();
+	}
+
+	/**
+	 * Gets the time spent on the current game from the model. This does not change the time.
+	 *
+	 * @return The number of seconds that the current game has been going for, as a double.
+	 */
+	public double getSecondsElapsed() {
+		return model.getSecondsElapsed();
+	}
+
+	/**
+	 * Retrieves the top times from the scoreboard for this game's difficulty.
+	 *
+	 * @return - a string representing the top times
+	 */
+	public String[] getTopTimes() {
+		Double[] times = scoreBoard.getTopTimes(model.getDifficulty());
+		String[] topTimes = new String[times.length];
+
+		for (int i = 0; i < topTimes.length; i++) {
+			topTimes[i] = model.getDifficulty() + ": " + times[i];
+			if (times[i] == null || times[i] == 0.0)
+				topTimes[i] = model.getDifficulty() + ": -.-";
+		}
+		return topTimes;
+	}
+
+	/**
+	 * Gets the rows of the current board
+	 * @return The number of rows in the model's grid.
+	 */
+	public int getRows() {
+		return model.getRows();
+	}
+
+	/**
+	 * Gets the cols of the current board
+	 * @return The number of columns in the model's grid.
+	 */
+	public int getCols() {
+		return model.getCols();
+	}
+
+	/**
+	 * Gets the status of a single tile, without creating the whole board of MineSweeperTiles,
+	 * which would be a lot of objects on a large custom board
+	 * @param row - the row of the tile
+	 * @param col - the column of the tile
+	 * @return The guess status of the tile, UNGUESSED everywhere before the first click
+	 */
+	public GUESS_STATUS getTileStatus(int row, int col) {
+		return model.getStatus(row, col);
+	}
+
+	/**
+	 * Gets the number of mines around a single tile, without creating the whole board of MineSweeperTiles
+	 * @param row - the row of the tile
+	 * @param col - the column of the tile
+	 * @return The number of adjacent mines, or 0 before the first click
+	 */
+	public int getTileMineCount(int row, int col) {
+		return model.getMineCount(row, col);
+	}
+
+	/**
+	 * This disables the models timer (handled in the model)
+	 */
+	public void disableTimer() {
+		model.disableTimer();
+	}
+
+	/**
+	 * This enables the models timer (handled in the model)
+	 */
+	public void enableTimer() {
+		model.enableTimer();
+	}
+
+	/**
+	 * This checks if the game is paused by determining
+	 * if the model's game clock is paused
+	 * @return true if the game is paused
+	 */
+	public boolean isGamePaused() {
+		return model.isGamePaused();
+	}
+
+	/**
+	 * Gets the number of flags the player has placed
+	 * @return The number of flagged tiles on the board
+	 */
+	public int getNumFlags() {
+		return model.getNumFlags();
+	}
+
+	/**
+	 * Gets a nice string in the form of "CURRENT/TOTAL" for the number of flags places and mines
+	 * @return A string representation of the number of flags and mines on the board
+	 */
+	public String getMineCount() {
+		return model.getNumFlags() + " / " + model.getNumBombs();
+	}
+
+	/**
+	 * Returns how many bombs are on the current board
+	 * @return The number of bombs on the current board
+	 */
+	public int getBombCount() {
+		return model.getNumBombs();
+	}
+
+	/**
+	 * This is used to test if the scoreboard workd
+	 * @return - the scoreboard for testing
+	 */
+	public ScoreBoard getScoreBoard() {
+		return scoreBoard;
+	}
+
+	/**
+	 * Finds a tile that is certainly safe to reveal, working only from what the player can see.
+	 * Before the first click any tile is safe, so the middle of the board is suggested.
+	 * @return - the row and column of the tile, or null if the game is over or every tile left might be a mine
+	 */
+	public int[] getHint() {
+		if (gameOver) return null;
+		if (!model.isGenerated()) return new int[] {model.getRows() / 2, model.getCols() / 2};
+
+		if (solver == null || solver.getGrid() != model.getGrid())
+			solver = new Solver(model.getGrid()); // the board changed size since the last hint
+		solver.solve(model.getState());
+		int cell = solver.getHint(model.getState());
+		if (cell < 0) return null;
+		return new int[] {model.getGrid().rowOf(cell), model.getGrid().colOf(cell)};
+	}
+
+	/**
+	 * Works out the chance that each unrevealed tile is a mine, working only from what the player can see.
+	 * Only the parts of the board changed since the last call are worked out again.
+	 * @return - the chances by row and column, from 0 to 1, with NaN for revealed tiles, or null if the game is over or hasn't started
+	 */
+	public double[][] getMineProbabilities() {
+		if (gameOver || !model.isGenerated()) return null;
+
+		if (probabilityEngine == null || probabilityEngine.getGrid() != model.getGrid())
+			probabilityEngine = new ProbabilityEngine(model.getGrid()); // the board changed size since the last call
+		double[] chances = probabilityEngine.compute(model.getState());
+		double[][] byTile = new double[model.getRows()][model.getCols()];
+		for (int row = 0; row < byTile.length; row++)
+			System.arraycopy(chances, row * model.getCols(), byTile[row], 0, model.getCols());
+		return byTile;
+	}
+
+	/**
+	 * Gets the log of the moves made so far, which can be replayed to rebuild the game
+	 * @return - the move log, or null if the game was loaded, has not started yet or was placed without guessing
+	 */
+	public MoveLog getMoveLog() {
+		return model.getMoveLog();
+	}
+
+	/**
+	 * Sets whether the mines are placed so the game can be won without guessing, which only has an effect
+	 * before the first click
+	 * @param noGuess - true to place them with the NoGuessGenerator, false to place them at random
+	 * @throws IllegalStateException if noGuess is true but the controller was made without a generator
+	 */
+	public void setNoGuess(boolean noGuess) {
+		if (noGuess && noGuessGenerator == null)
+			throw new IllegalStateException("This controller was made without a NoGuessGenerator");
+		model.getEngine().setGenerator(noGuess ? noGuessGenerator : null);
+	}
+
+	/**
+	 * @return - true if the mines are placed so the game can be won without guessing
+	 */
+	public boolean isNoGuess() {
+		return model.getEngine().getGenerator() != null;
+	}
+
+	/**
+	 * Gets the generator used for games without guessing, such as to look at how many attempts its boards take
+	 * @return - the generator this controller was made with, or null if it was made without one
+	 */
+	public NoGuessGenerator getNoGuessGenerator() {
+		return noGuessGenerator;
+	}
+}
\ No newline at end of file
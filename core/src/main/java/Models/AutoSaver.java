@@ -0,0 +1,151 @@
+package Models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * This class keeps a copy of the game being played saved in the background, so that it can be restored
+ * after the program closes or crashes.
+ *
+ * The game tells the saver that it changed after every move, which only sets a flag. Every so often the
+ * saver checks the flag, and if it is set has the game encoded on the thread that owns it (the JavaFX thread,
+ * for the view), so however many moves were made in between are saved together. The encoded bytes are then
+ * written on the saver's own thread through SavedGame.write, which replaces the file atomically,
+ * so the thread playing the game never waits on the disk, and the file never holds half a game.
+ */
+public class AutoSaver implements AutoCloseable {
+
+    private final Path file;
+    private final boolean sync;
+    private final Supplier<ByteBuffer> snapshot;
+    private final Executor owner;
+    private final ScheduledExecutorService writer;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile IOException lastError;
+
+    /**
+     * Creates a saver and starts checking for changes.
+     *
+     * @param file The file to keep the game saved in.
+     * @param intervalMillis How often to save the game if it has changed, in milliseconds.
+     * @param sync Whether to wait for every save to reach the disk, rather than leaving that to the operating system.
+     * @param snapshot Encodes the game being played, in the format of SavedGame.encode. Only called on the owner.
+     * @param owner Runs tasks on the thread that plays the game, such as Platform::runLater.
+     */
+    public AutoSaver(Path file, long intervalMillis, boolean sync, Supplier<ByteBuffer> snapshot, Executor owner) {
+        this.file = file;
+        this.sync = sync;
+        this.snapshot = snapshot;
+        this.owner = owner;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            // not a daemon, so a save that has been started is finished before the program exits
+            return new Thread(runnable, "autosave");
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        writer = executor;
+        writer.scheduleWithFixedDelay(() -> {
+            if (dirty.get())
+                owner.execute(this::flush);
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Notes that the game has changed, so that it gets saved on the next check. This is cheap enough to call on every move.
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /**
+     * Saves the game now if it has changed since the last save, without waiting for the next check.
+     * This has to be called on the owner's thread, but the file is still written in the background.
+     *
+     * @return A future which completes once the game has been written, or right away if there was nothing to save.
+     */
+    public CompletableFuture<Void> flush() {
+        if (!dirty.getAndSet(false))
+            return CompletableFuture.completedFuture(null);
+        return save(snapshot.get(), file, sync).whenComplete((done, e) -> {
+            if (e != null)
+                dirty.set(true); // try again on the next check
+        });
+    }
+
+    /**
+     * Writes an encoded game to a file on the saver's thread, after any saves already started.
+     * The view uses this for the Save button, so that saving to a chosen file does not block it either.
+     *
+     * @param buffer The encoded game.
+     * @param path The file to write it to.
+     * @param sync Whether to wait for the file to reach the disk.
+     * @return A future which completes once the file has been written, or with the IOException if that failed.
+     */
+    public CompletableFuture<Void> save(ByteBuffer buffer, Path path, boolean sync) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        try {
+            writer.execute(() -> {
+                try {
+                    SavedGame.write(buffer, path, sync);
+                    done.complete(null);
+                } catch (IOException e) {
+                    lastError = e;
+                    done.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) { // already closed
+            done.completeExceptionally(e);
+        }
+        return done;
+    }
+
+    /**
+     * Reads back the game kept in a saver's file, as when the program starts up.
+     *
+     * @param file The file the game is kept in.
+     * @return The saved game, or null if there is no saved game or it could not be read.
+     */
+    public static SavedGame restore(Path file) {
+        if (!Files.exists(file))
+            return null;
+        try {
+            return SavedGame.read(file.toFile());
+        } catch (IOException e) {
+            return null; // a file we can't read is no worse than not having one
+        }
+    }
+
+    /**
+     * Saves the game one last time if it has changed, then stops the saver once that has been written.
+     * This has to be called on the owner's thread, and does not wait for the save to finish.
+     */
+    @Override
+    public void close() {
+        if (writer.isShutdown())
+            return;
+        flush();
+        writer.shutdown();
+    }
+
+    /**
+     * @return The file the game is kept in.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return The error from the last save that failed, or null if none have.
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+}
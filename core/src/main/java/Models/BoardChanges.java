@@ -0,0 +1,90 @@
+package Models;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * This class records which tiles on the board have changed since the observers were last notified.
+ *
+ * The model adds a tile here every time its status changes, and passes the whole set along
+ * when it notifies its observers, so a view only has to redraw the tiles listed here
+ * instead of the entire board. Each tile is only ever recorded once, no matter how many times it changes.
+ */
+public class BoardChanges {
+
+    private final int cols;
+    private final BitSet marked;
+    private int[] cells;
+    private int size;
+
+    /**
+     * Creates an empty change set for a board of the given size.
+     *
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     */
+    public BoardChanges(int rows, int cols) {
+        this.cols = cols;
+        this.marked = new BitSet(rows * cols);
+        this.cells = new int[16];
+    }
+
+    /**
+     * Records that the tile at the given coordinates has changed.
+     *
+     * @param row The row of the changed tile.
+     * @param col The column of the changed tile.
+     */
+    public void add(int row, int col) {
+        add(row * cols + col);
+    }
+
+    /**
+     * Records that the tile with the given index has changed.
+     *
+     * @param cell The index of the changed tile, row * cols + col.
+     */
+    public void add(int cell) {
+        if (marked.get(cell)) return; // already recorded
+
+        marked.set(cell);
+        if (size == cells.length)
+            cells = Arrays.copyOf(cells, size * 2);
+        cells[size++] = cell;
+    }
+
+    /**
+     * Forgets every recorded change. Called by the model once its observers have been notified.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            marked.clear(cells[i]);
+        size = 0;
+    }
+
+    /**
+     * Gets the number of changed tiles
+     * @return The number of tiles recorded since the last clear.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the row of the i-th changed tile
+     * @param i The index of the change, between 0 and size() - 1.
+     * @return The row of that tile.
+     */
+    public int getRow(int i) {
+        return cells[i] / cols;
+    }
+
+    /**
+     * Gets the column of the i-th changed tile
+     * @param i The index of the change, between 0 and size() - 1.
+     * @return The column of that tile.
+     */
+    public int getCol(int i) {
+        return cells[i] % cols;
+    }
+}
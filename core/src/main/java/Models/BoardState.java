@@ -0,0 +1,288 @@
+package Models;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class stores the state of every tile on a Minesweeper board in a few flat arrays.
+ *
+ * Each tile is addressed by its index, row * cols + col. Its guess status and its number of adjacent mines
+ * are stored as one byte each, and whether it holds a mine is stored as a single bit, so a tile costs
+ * about two bytes rather than a whole object. MineSweeperTile objects are only created as views onto
+ * this state for code that wants to work with individual tiles.
+ *
+ * The status bytes are the codes of the matching GUESS_STATUS constants, and fit in two bits each.
+ *
+ * It also keeps count of the mines, flags and revealed tiles as their statuses change,
+ * so none of these ever need to be counted by walking the whole board.
+ */
+public class BoardState {
+
+    public static final byte UNGUESSED = 0;
+    public static final byte GUESSED = 1;
+    public static final byte FLAGGED = 2;
+    public static final byte BOMB = 3;
+
+    private final int rows, cols;
+    private final byte[] statuses;
+    private final byte[] mineCounts;
+    private final long[] mines;
+    private int numMines, numFlagged, numRevealed;
+
+    /**
+     * Creates the state for an empty board of the given size, with every tile unguessed and no mines.
+     *
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     */
+    public BoardState(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        statuses = new byte[rows * cols];
+        mineCounts = new byte[rows * cols];
+        mines = new long[(rows * cols + 63) / 64];
+    }
+
+    /**
+     * Empties the board again, with every tile unguessed and no mines, so the same arrays can be used for
+     * another game without allocating anything.
+     */
+    public void clear() {
+        Arrays.fill(statuses, UNGUESSED);
+        Arrays.fill(mineCounts, (byte) 0);
+        Arrays.fill(mines, 0L);
+        numMines = numFlagged = numRevealed = 0;
+    }
+
+    /**
+     * Gets the guess status of a tile
+     * @param cell The index of the tile.
+     * @return The status of the tile, one of UNGUESSED, GUESSED, FLAGGED or BOMB.
+     */
+    public byte getStatus(int cell) {
+        return statuses[cell];
+    }
+
+    /**
+     * Sets the guess status of a tile
+     * @param cell The index of the tile.
+     * @param status The new status of the tile, one of UNGUESSED, GUESSED, FLAGGED or BOMB.
+     */
+    public void setStatus(int cell, byte status) {
+        byte old = statuses[cell];
+        if (old == FLAGGED) numFlagged--;
+        else if (old == GUESSED) numRevealed--;
+
+        if (status == FLAGGED) numFlagged++;
+        else if (status == GUESSED) numRevealed++;
+        statuses[cell] = status;
+    }
+
+    /**
+     * Checks if a tile holds a mine
+     * @param cell The index of the tile.
+     * @return true if the tile holds a mine, false otherwise
+     */
+    public boolean isMine(int cell) {
+        return (mines[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Places a mine on a tile. Its number of adjacent mines is set to 0, since it is never displayed on a mine.
+     * @param cell The index of the tile.
+     */
+    public void setMine(int cell) {
+        if (!isMine(cell))
+            numMines++;
+        mines[cell >>> 6] |= 1L << cell;
+        mineCounts[cell] = 0;
+    }
+
+    /**
+     * Takes the mine off a tile, if it has one. The numbers of adjacent mines are not updated.
+     * @param cell The index of the tile.
+     */
+    public void removeMine(int cell) {
+        if (isMine(cell))
+            numMines--;
+        mines[cell >>> 6] &= ~(1L << cell);
+    }
+
+    /**
+     * Gets 64 tiles' worth of the mine bitset at once, such as for saving it.
+     * @param word Which group of 64 tiles, where tile index i is bit (i % 64) of word (i / 64).
+     * @return The bits of that word, set for each tile holding a mine.
+     */
+    public long getMineWord(int word) {
+        return mines[word];
+    }
+
+    /**
+     * Sets 64 tiles' worth of the mine bitset at once, such as for loading it.
+     * Bits past the last tile of the board are ignored. The numbers of adjacent mines are not updated.
+     * @param word Which group of 64 tiles, where tile index i is bit (i % 64) of word (i / 64).
+     * @param bits The bits of that word, set for each tile holding a mine.
+     */
+    public void setMineWord(int word, long bits) {
+        int lastBits = size() - word * 64;
+        if (lastBits < 64)
+            bits &= (1L << lastBits) - 1;
+        numMines += Long.bitCount(bits) - Long.bitCount(mines[word]);
+        mines[word] = bits;
+    }
+
+    /**
+     * Places mines on randomly chosen tiles, never on any of the excluded tiles.
+     *
+     * This uses Robert Floyd's sampling algorithm over the tiles that are not excluded, so it draws exactly
+     * one random number per mine and always finishes, however dense the board is. The mine bitset itself
+     * is used to remember which tiles were already picked, so nothing else is allocated.
+     * The same seeded random number generator always places the same mines.
+     *
+     * @param numMines The number of mines to place.
+     * @param excluded The indices of the tiles that must not get a mine, sorted in ascending order.
+     * @param numExcluded How many entries at the start of excluded are used.
+     * @param random The random number generator used to pick the tiles.
+     * @return The number of mines placed, which is lower than numMines only if there are not enough tiles.
+     */
+    public int placeMines(int numMines, int[] excluded, int numExcluded, RandomGenerator random) {
+        int eligible = size() - numExcluded;
+        int count = Math.min(numMines, eligible);
+
+        for (int j = eligible - count; j < eligible; j++) {
+            int cell = skipExcluded(random.nextInt(j + 1), excluded, numExcluded);
+            if (isMine(cell))
+                cell = skipExcluded(j, excluded, numExcluded); // j itself can never have been picked yet
+            setMine(cell);
+        }
+        return count;
+    }
+
+    /**
+     * Works out the number of adjacent mines for every tile in one pass.
+     *
+     * Rather than having each tile look at its neighbours, each mine adds one to the count of its neighbours,
+     * so only the mines are visited and they are found a whole word of the bitset at a time.
+     * Mines get counted around other mines too, like every other tile.
+     *
+     * @param grid The grid for this board's size, used to find the neighbours of each mine.
+     */
+    public void computeMineCounts(HexGrid grid) {
+        Arrays.fill(mineCounts, (byte) 0);
+        int[] neighbors = new int[HexGrid.NEIGHBORS];
+        for (int word = 0; word < mines.length; word++) {
+            long bits = mines[word];
+            while (bits != 0) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1; // clear the lowest set bit
+
+                int count = grid.neighbors(cell, neighbors);
+                for (int i = 0; i < count; i++)
+                    mineCounts[neighbors[i]]++;
+            }
+        }
+    }
+
+    /**
+     * Converts a position among the tiles that are not excluded into the index of that tile on the board.
+     *
+     * @param position The position, counting only tiles that are not excluded.
+     * @param excluded The indices of the excluded tiles, sorted in ascending order.
+     * @param numExcluded How many entries at the start of excluded are used.
+     * @return The index of the tile on the board.
+     */
+    private static int skipExcluded(int position, int[] excluded, int numExcluded) {
+        for (int i = 0; i < numExcluded && excluded[i] <= position; i++)
+            position++;
+        return position;
+    }
+
+    /**
+     * Gets the number of mines adjacent to a tile
+     * @param cell The index of the tile.
+     * @return The number of adjacent mines.
+     */
+    public int getMineCount(int cell) {
+        return mineCounts[cell];
+    }
+
+    /**
+     * Adds one to the number of mines adjacent to a tile.
+     * @param cell The index of the tile.
+     */
+    public void addMineCount(int cell) {
+        mineCounts[cell]++;
+    }
+
+    /**
+     * Gets the number of mines on the board
+     * @return The number of tiles holding a mine.
+     */
+    public int getNumMines() {
+        return numMines;
+    }
+
+    /**
+     * Gets the number of flags on the board
+     * @return The number of tiles with the FLAGGED status.
+     */
+    public int getNumFlagged() {
+        return numFlagged;
+    }
+
+    /**
+     * Gets the number of revealed tiles on the board
+     * @return The number of tiles with the GUESSED status.
+     */
+    public int getNumRevealed() {
+        return numRevealed;
+    }
+
+    /**
+     * Gets the number of tiles without a mine that still have to be revealed.
+     * The game is won once this reaches 0.
+     * @return The number of safe tiles that are not yet revealed.
+     */
+    public int getRemainingSafe() {
+        return size() - numMines - numRevealed;
+    }
+
+    /**
+     * Recounts the mines, flags and revealed tiles by walking the whole board, and checks them against the counters.
+     * This is far too slow to call on every move, so it is only meant to be used in assertions.
+     * @return true if every counter matches the recount
+     */
+    public boolean countersMatch() {
+        int mineCount = 0, flagCount = 0, revealedCount = 0;
+        for (int cell = 0; cell < size(); cell++) {
+            if (isMine(cell)) mineCount++;
+            if (statuses[cell] == FLAGGED) flagCount++;
+            if (statuses[cell] == GUESSED) revealedCount++;
+        }
+        return mineCount == numMines && flagCount == numFlagged && revealedCount == numRevealed;
+    }
+
+    /**
+     * Gets the rows of this board
+     * @return The number of rows in the board.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the columns of this board
+     * @return The number of columns in the board.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of tiles on this board
+     * @return The number of tiles, rows * cols.
+     */
+    public int size() {
+        return statuses.length;
+    }
+}
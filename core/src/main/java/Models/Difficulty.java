@@ -0,0 +1,141 @@
+package Models;
+
+/**
+ * This enum lists the difficulty settings of the game, along with the board size and mine density of each.
+ *
+ * The rest of the game refers to difficulties by their names (like "Easy" or "Very Hard"),
+ * which is also how they are written to the scoreboard and save files.
+ * A board of any other size goes by a name like "40x60/500", for its rows, columns and mines,
+ * which is the same name Leaderboard.key ranks it under.
+ */
+public enum Difficulty {
+
+    VERY_EASY("Very Easy", 16, 16, 20),
+    EASY("Easy", 16, 20, 8),
+    NORMAL("Normal", 16, 24, 5),
+    HARD("Hard", 20, 24, 4),
+    VERY_HARD("Very Hard", 24, 30, 3);
+
+    /**
+     * The most tiles a custom board can have. The board itself only takes a couple of bytes per tile,
+     * but hints and odds need a few arrays of the whole board's size.
+     */
+    public static final int MAX_TILES = 1 << 22;
+    /**
+     * The fewest rows or columns a custom board can have.
+     */
+    public static final int MIN_SIDE = 4;
+
+    private final String name;
+    private final int rows, cols;
+    /**
+     * The "divider" affects the density of mines; for divider N, one in N tiles should be a mine.
+     */
+    private final int divider;
+
+    /**
+     * Creates a difficulty setting.
+     *
+     * @param name The name shown to the player.
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     * @param divider One in this many tiles will be a mine.
+     */
+    Difficulty(String name, int rows, int cols, int divider) {
+        this.name = name;
+        this.rows = rows;
+        this.cols = cols;
+        this.divider = divider;
+    }
+
+    /**
+     * Finds the difficulty with the given name.
+     * @param name The name of the difficulty, like "Easy" or "Very Hard".
+     * @return The matching difficulty, or NORMAL if no difficulty has that name.
+     */
+    public static Difficulty fromName(String name) {
+        for (Difficulty difficulty : values())
+            if (difficulty.name.equals(name))
+                return difficulty;
+        return NORMAL;
+    }
+
+    /**
+     * Gets the name for a board of any size, checking first that such a board can be played.
+     *
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     * @param density The percentage of tiles that should be mines, rounded to the nearest number of mines.
+     * @return The name of the matching difficulty if there is one, or a name like "40x60/500" otherwise.
+     * @throws IllegalArgumentException If the board is too small or too large, or the density leaves
+     *                                  no mines or no room to clear the first click.
+     */
+    public static String customName(int rows, int cols, double density) {
+        if (rows < MIN_SIDE || cols < MIN_SIDE)
+            throw new IllegalArgumentException("A board needs at least " + MIN_SIDE + " rows and columns");
+        if ((long) rows * cols > MAX_TILES)
+            throw new IllegalArgumentException("A board can have at most " + MAX_TILES + " tiles");
+        int numMines = (int) Math.round(rows * cols * density / 100);
+        if (numMines < 1 || numMines > rows * cols - HexGrid.NEIGHBORS - 1)
+            throw new IllegalArgumentException("A density of " + density + "% leaves no mines or no safe first click");
+        return Leaderboard.key(rows, cols, numMines);
+    }
+
+    /**
+     * Reads the size of a custom board back out of its name.
+     * @param name A name like "40x60/500".
+     * @return The rows, columns and mines, in that order, or null if the name isn't one
+     *         that customName could have given.
+     */
+    public static int[] parseCustom(String name) {
+        int x = name.indexOf('x'), slash = name.indexOf('/');
+        if (x < 0 || slash < x)
+            return null;
+        try {
+            int rows = Integer.parseInt(name, 0, x, 10);
+            int cols = Integer.parseInt(name, x + 1, slash, 10);
+            int numMines = Integer.parseInt(name, slash + 1, name.length(), 10);
+            if (rows < MIN_SIDE || cols < MIN_SIDE || (long) rows * cols > MAX_TILES
+                    || numMines < 1 || numMines > rows * cols - HexGrid.NEIGHBORS - 1)
+                return null;
+            return new int[] {rows, cols, numMines};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The name of this difficulty, like "Easy" or "Very Hard".
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of rows in a board of this difficulty.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The number of columns in a board of this difficulty.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return The divider for this difficulty, where one in this many tiles is a mine.
+     */
+    public int getDivider() {
+        return divider;
+    }
+
+    /**
+     * @return The number of mines on a board of this difficulty.
+     */
+    public int getNumMines() {
+        return rows * cols / divider;
+    }
+}
@@ -0,0 +1,85 @@
+package Models;
+
+/**
+ * This class keeps track of how long a game has been played for.
+ *
+ * Rather than adding to a counter on a timer, it remembers when the game started and how long it has
+ * spent paused, and works out the elapsed time from System.nanoTime() whenever it is asked.
+ * Reading the time therefore never changes it, and it keeps counting correctly no matter how often,
+ * or how rarely, anyone reads it.
+ */
+public class GameClock {
+
+    private long startNanos;    // when the clock started, shifted later by the time spent paused
+    private long pausedAtNanos; // when the current pause began
+    private boolean started, paused;
+
+    /**
+     * Starts the clock from zero. Does nothing if it has already started.
+     * If the clock was paused before it started, it stays paused at zero until it is resumed.
+     */
+    public void start() {
+        if (started) return;
+        started = true;
+        startNanos = System.nanoTime();
+        pausedAtNanos = startNanos;
+    }
+
+    /**
+     * Pauses the clock, so the elapsed time stops increasing until it is resumed.
+     */
+    public void pause() {
+        if (paused) return;
+        paused = true;
+        pausedAtNanos = System.nanoTime();
+    }
+
+    /**
+     * Resumes the clock after a pause. The time spent paused is not counted towards the elapsed time.
+     */
+    public void resume() {
+        if (!paused) return;
+        paused = false;
+        if (started)
+            startNanos += System.nanoTime() - pausedAtNanos;
+    }
+
+    /**
+     * Checks if the clock is paused
+     * @return true if the clock is paused, false otherwise
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Checks if the clock has been started
+     * @return true if the clock has started, false if it is still waiting for the first click
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Calculates how long the clock has been running for, not counting any time spent paused.
+     * @return The elapsed time in milliseconds, or 0 if the clock has not started.
+     */
+    public long getElapsedMillis() {
+        if (!started) return 0;
+        long now = paused ? pausedAtNanos : System.nanoTime();
+        return (now - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Sets the elapsed time, such as when loading a saved game, and starts the clock if it was not already.
+     * Whether the clock is paused does not change.
+     *
+     * @param elapsedMillis The time the clock should now read, in milliseconds.
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        long now = System.nanoTime();
+        started = true;
+        startNanos = now - elapsedMillis * 1_000_000;
+        pausedAtNanos = now;
+    }
+}
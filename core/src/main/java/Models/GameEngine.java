@@ -0,0 +1,327 @@
+package Models;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class carries out the rules of a game of Minesweeper, without any display, timer or observers.
+ *
+ * It places the mines on the first reveal, reveals tiles and flags them, chords around a tile,
+ * and decides when the game has been won or lost. Tiles are addressed by their index (row * cols + col)
+ * and statuses are the bytes from BoardState, so the engine does not depend on JavaFX or GUESS_STATUS
+ * and can be used on its own, such as for simulating many games at once.
+ * MineSweeperBoard wraps an engine to add everything the interactive game needs on top.
+ *
+ * Every tile a move changes is recorded in the engine's BoardChanges, which whoever made the move should clear.
+ *
+ * An engine is not thread safe, but it holds no shared state either, so any number of them can be played
+ * on different threads at once. One engine can also play many games in a row through newGame, reusing its arrays.
+ */
+public class GameEngine {
+
+    private final HexGrid grid;
+    private final RevealEngine revealEngine;
+    private final BoardChanges changes;
+    private final int[] neighbors = new int[HexGrid.NEIGHBORS];
+    private RandomGenerator random;
+    private NoGuessGenerator generator; // null to place the mines purely at random
+    private int numMines; // the number of mines to place, which may be more than there is room for
+    private BoardState state;
+    private BoardState spare; // the state of the last game, kept to be cleared and reused by the next one
+    private boolean over, won;
+
+    /**
+     * Creates a game on an empty board. The mines are placed on the first reveal.
+     *
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     * @param numMines The number of mines to place.
+     * @param random The random number generator used to place the mines.
+     */
+    public GameEngine(int rows, int cols, int numMines, RandomGenerator random) {
+        this.grid = new HexGrid(rows, cols);
+        this.revealEngine = new RevealEngine(grid);
+        this.changes = new BoardChanges(rows, cols);
+        this.numMines = numMines;
+        this.random = random;
+    }
+
+    /**
+     * Creates a game for one of the difficulty settings, whose mines are placed from a seed.
+     * The same seed and the same moves always play out the same way.
+     *
+     * @param difficulty The difficulty, which sets the board size and number of mines.
+     * @param seed The seed for placing the mines.
+     * @return The new game.
+     */
+    public static GameEngine fromSeed(Difficulty difficulty, long seed) {
+        return new GameEngine(difficulty.getRows(), difficulty.getCols(), difficulty.getNumMines(),
+                new SplittableRandom(seed));
+    }
+
+    /**
+     * Starts a new game on the same board size and number of mines, with the mines placed on the first reveal.
+     * The arrays of the previous game are reused, so any BoardState taken from this engine before is
+     * no longer valid afterwards.
+     *
+     * @param random The random number generator used to place the mines.
+     */
+    public void newGame(RandomGenerator random) {
+        this.random = random;
+        if (state != null)
+            spare = state;
+        state = null;
+        over = false;
+        won = false;
+        changes.clear();
+    }
+
+    /**
+     * Places the mines, keeping the starting tile and the tiles around it free of mines,
+     * and works out the number of adjacent mines for every tile.
+     * If there are not enough other tiles for every mine, every other tile gets one, and getNumMines says how many there are.
+     * With a NoGuessGenerator set, the generator places them instead, from a seed drawn from the random number generator.
+     *
+     * @param startCell The index of the first tile revealed.
+     * @param random The random number generator used to place the mines.
+     */
+    public void generate(int startCell, RandomGenerator random) {
+        if (generator != null) {
+            state = generator.generate(grid, numMines, startCell, random.nextLong());
+            spare = null; // the generator makes its own arrays
+            over = false;
+            won = false;
+            return;
+        }
+
+        // every tile starts unguessed without a mine
+        if (spare != null) {
+            state = spare;
+            spare = null;
+            state.clear();
+        } else {
+            state = new BoardState(grid.getRows(), grid.getCols());
+        }
+        over = false;
+        won = false;
+
+        // the safe zone is the first click and its neighbours, make sure we start with a 0
+        int[] safeZone = new int[HexGrid.NEIGHBORS + 1];
+        int safeSize = grid.neighbors(startCell, safeZone);
+        safeZone[safeSize++] = startCell;
+        Arrays.sort(safeZone, 0, safeSize);
+
+        state.placeMines(numMines, safeZone, safeSize, random);
+        state.computeMineCounts(grid); // each mine adds one to the tiles around it
+    }
+
+    // MOVES
+
+    /**
+     * Reveals a tile. The first reveal of the game places the mines.
+     * Revealing a tile with no adjacent mines also reveals the region of zero tiles around it.
+     * Revealing a mine loses the game, and revealing the last safe tile wins it.
+     * Flagged and already revealed tiles are left alone, as are all tiles once the game is over.
+     *
+     * @param cell The index of the tile to reveal.
+     * @return The number of tiles that were revealed.
+     */
+    public int reveal(int cell) {
+        if (over) return 0;
+        if (state == null)
+            generate(cell, random);
+        if (state.getStatus(cell) != BoardState.UNGUESSED) return 0;
+
+        if (state.isMine(cell)) {
+            over = true;
+            won = false;
+            revealMines();
+            return 0;
+        }
+
+        int revealed = revealEngine.reveal(state, cell, changes);
+        if (state.getRemainingSafe() == 0) {
+            over = true;
+            won = true;
+            revealMines();
+        }
+        return revealed;
+    }
+
+    /**
+     * Flags an unguessed tile, or removes the flag from a flagged tile.
+     * Nothing happens before the mines are placed or once the game is over.
+     *
+     * @param cell The index of the tile to flag.
+     */
+    public void toggleFlag(int cell) {
+        if (over || state == null) return;
+
+        byte status = state.getStatus(cell);
+        if (status == BoardState.FLAGGED)
+            state.setStatus(cell, BoardState.UNGUESSED);
+        else if (status == BoardState.UNGUESSED)
+            state.setStatus(cell, BoardState.FLAGGED);
+        else
+            return;
+        changes.add(cell);
+    }
+
+    /**
+     * Reveals every tile around a tile, like double clicking it. Flagged tiles stay flagged,
+     * but a tile that has been flagged itself does not reveal anything around it.
+     *
+     * @param cell The index of the tile to reveal around.
+     * @return The number of tiles that were revealed.
+     */
+    public int chord(int cell) {
+        if (over || state == null || state.getStatus(cell) == BoardState.FLAGGED) return 0;
+
+        int revealed = 0;
+        int count = grid.neighbors(cell, neighbors);
+        for (int i = 0; i < count; i++)
+            revealed += reveal(neighbors[i]);
+        return revealed;
+    }
+
+    /**
+     * Sets every tile holding a mine to the BOMB status, so they are shown at the end of the game.
+     */
+    private void revealMines() {
+        for (int cell = 0; cell < state.size(); cell++) {
+            if (state.isMine(cell)) {
+                state.setStatus(cell, BoardState.BOMB);
+                changes.add(cell);
+            }
+        }
+    }
+
+    // GETTERS AND SETTERS
+
+    /**
+     * Replaces the state of the game, such as with one loaded from a file.
+     *
+     * @param newState The new board state, or null for a board with no mines placed yet.
+     * @param over Whether the game has ended.
+     * @param won Whether the player won, if the game has ended.
+     */
+    public void setState(BoardState newState, boolean over, boolean won) {
+        this.state = newState;
+        this.over = over;
+        this.won = won;
+        spare = null; // the old arrays may be the wrong size, and someone else owns the new ones
+    }
+
+    /**
+     * Sets how the mines of the next game are placed. This makes no difference to a game that has already started.
+     * @param generator The generator to place the mines so the game can be won without guessing,
+     *                  or null to place them purely at random.
+     */
+    public void setGenerator(NoGuessGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * @return The generator placing the mines so the game can be won without guessing, or null if there is none.
+     */
+    public NoGuessGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * @return The state of every tile, or null if the mines have not been placed yet.
+     */
+    public BoardState getState() {
+        return state;
+    }
+
+    /**
+     * @return The grid describing the board's shape and which tiles neighbour each other.
+     */
+    public HexGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return The tiles changed by moves since the changes were last cleared.
+     */
+    public BoardChanges getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return true once the mines have been placed, which happens on the first reveal.
+     */
+    public boolean isGenerated() {
+        return state != null;
+    }
+
+    /**
+     * @return true if the game has been won or lost.
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * @return true if the game is over and the player won.
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * @return The number of mines on the board, or that will be placed on the first reveal.
+     */
+    public int getNumMines() {
+        return state == null ? numMines : state.getNumMines();
+    }
+
+    /**
+     * Sets the number of mines to place on the first reveal.
+     * @param numMines The number of mines.
+     */
+    public void setNumMines(int numMines) {
+        this.numMines = numMines;
+    }
+
+    /**
+     * Gets the status of a tile.
+     * @param cell The index of the tile.
+     * @return The status byte from BoardState, which is UNGUESSED for every tile before the mines are placed.
+     */
+    public byte getStatus(int cell) {
+        return state == null ? BoardState.UNGUESSED : state.getStatus(cell);
+    }
+
+    /**
+     * Gets the number of mines around a tile, which a player may only look at once the tile is revealed.
+     * @param cell The index of the tile.
+     * @return The number of adjacent mines, or 0 before the mines are placed.
+     */
+    public int getMineCount(int cell) {
+        return state == null ? 0 : state.getMineCount(cell);
+    }
+
+    /**
+     * @return The number of flagged tiles.
+     */
+    public int getNumFlagged() {
+        return state == null ? 0 : state.getNumFlagged();
+    }
+
+    /**
+     * @return The number of revealed tiles.
+     */
+    public int getNumRevealed() {
+        return state == null ? 0 : state.getNumRevealed();
+    }
+
+    /**
+     * @return The number of safe tiles the player still has to reveal to win.
+     */
+    public int getRemainingSafe() {
+        return state == null ? grid.size() - numMines : state.getRemainingSafe();
+    }
+}
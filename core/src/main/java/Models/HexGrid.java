@@ -0,0 +1,143 @@
+package Models;
+
+/**
+ * This class describes the shape of a hexagonal board, and which tiles neighbour each other on it.
+ *
+ * Tiles are laid out in offset rows, with odd rows shifted half a tile to the right,
+ * so the six neighbours of a tile depend on whether its row is odd or even.
+ * Each tile can also be addressed by a single index, row * cols + col, which is how
+ * the neighbour lookups report their results so that no objects are created while iterating.
+ */
+public class HexGrid {
+
+    /**
+     * The most neighbours a single tile can have.
+     */
+    public static final int NEIGHBORS = 6;
+
+    // the row offsets are the same for both kinds of row, only the column offsets differ
+    private static final int[] ROW_OFFSETS = {0, 0, 1, 1, -1, -1};
+    private static final int[] EVEN_COL_OFFSETS = {-1, 1, -1, 0, -1, 0};
+    private static final int[] ODD_COL_OFFSETS = {-1, 1, 0, 1, 0, 1};
+
+    private final int rows, cols;
+    // the index offsets to the neighbours of a tile that is not on an edge, for even and odd rows
+    private final int[] evenCellOffsets, oddCellOffsets;
+
+    /**
+     * Creates the grid for a board of the given size.
+     *
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     */
+    public HexGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        evenCellOffsets = new int[NEIGHBORS];
+        oddCellOffsets = new int[NEIGHBORS];
+        for (int i = 0; i < NEIGHBORS; i++) {
+            evenCellOffsets[i] = ROW_OFFSETS[i] * cols + EVEN_COL_OFFSETS[i];
+            oddCellOffsets[i] = ROW_OFFSETS[i] * cols + ODD_COL_OFFSETS[i];
+        }
+    }
+
+    /**
+     * Gets the row offset to the i-th neighbour of any tile.
+     * @param i Which neighbour, from 0 to NEIGHBORS - 1.
+     * @return The difference in rows between a tile and that neighbour.
+     */
+    public static int rowOffset(int i) {
+        return ROW_OFFSETS[i];
+    }
+
+    /**
+     * Gets the column offset to the i-th neighbour of a tile in the given row.
+     * @param row The row of the tile, since odd and even rows are offset differently.
+     * @param i Which neighbour, from 0 to NEIGHBORS - 1.
+     * @return The difference in columns between a tile and that neighbour.
+     */
+    public static int colOffset(int row, int i) {
+        return (row % 2 == 0) ? EVEN_COL_OFFSETS[i] : ODD_COL_OFFSETS[i];
+    }
+
+    /**
+     * Finds every neighbour of a tile that is inside the board.
+     *
+     * @param cell The index of the tile, as row * cols + col.
+     * @param out An array of at least NEIGHBORS elements which is filled with the indices of the neighbours.
+     * @return The number of neighbours written into out.
+     */
+    public int neighbors(int cell, int[] out) {
+        int row = cell / cols;
+        int col = cell % cols;
+        if (row > 0 && row < rows - 1 && col > 0 && col < cols - 1) {
+            // away from the edges every neighbour exists, so skip the bounds checks
+            int[] cellOffsets = (row % 2 == 0) ? evenCellOffsets : oddCellOffsets;
+            for (int i = 0; i < NEIGHBORS; i++)
+                out[i] = cell + cellOffsets[i];
+            return NEIGHBORS;
+        }
+
+        int[] colOffsets = (row % 2 == 0) ? EVEN_COL_OFFSETS : ODD_COL_OFFSETS;
+        int count = 0;
+        for (int i = 0; i < NEIGHBORS; i++) {
+            int r = row + ROW_OFFSETS[i];
+            int c = col + colOffsets[i];
+            if (r >= 0 && r < rows && c >= 0 && c < cols)
+                out[count++] = r * cols + c;
+        }
+        return count;
+    }
+
+    /**
+     * Converts coordinates into the index of a tile.
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     * @return The index of the tile, row * cols + col.
+     */
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * Gets the row of a tile from its index
+     * @param cell The index of the tile.
+     * @return The row of the tile.
+     */
+    public int rowOf(int cell) {
+        return cell / cols;
+    }
+
+    /**
+     * Gets the column of a tile from its index
+     * @param cell The index of the tile.
+     * @return The column of the tile.
+     */
+    public int colOf(int cell) {
+        return cell % cols;
+    }
+
+    /**
+     * Gets the rows of this grid
+     * @return The number of rows in the board.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the columns of this grid
+     * @return The number of columns in the board.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of tiles in this grid
+     * @return The number of tiles, rows * cols.
+     */
+    public int size() {
+        return rows * cols;
+    }
+}
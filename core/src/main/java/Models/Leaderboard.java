@@ -0,0 +1,261 @@
+package Models;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class ranks the times of won games, separately for every difficulty or custom board size.
+ *
+ * For each kind of board it keeps the best K times in a sorted array, which is replaced as a whole with a
+ * compare-and-set whenever a time makes it in, and most times are turned away after comparing them with the
+ * slowest of those. Every time also goes into a histogram, so that the rank of any time among all of them can be
+ * worked out without keeping them. The histogram's buckets are like those of an HDR histogram: each power of two
+ * milliseconds is split into 32 buckets of equal width, so a bucket is never more than about 3% wider than the
+ * times in it, and a thousand or so buckets cover everything from a millisecond to decades.
+ * Nothing here ever locks, so any number of games can submit times at once.
+ */
+public class Leaderboard {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final long MAX_MILLIS = (1L << 40) - 1; // about 35 years
+    static final int NUM_BUCKETS = bucket(MAX_MILLIS) + 1;
+
+    private final int topK;
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+
+    /**
+     * The times for one kind of board.
+     */
+    private static final class Board {
+        final AtomicReference<double[]> top = new AtomicReference<>(new double[0]);
+        final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+        final LongAdder total = new LongAdder();
+    }
+
+    /**
+     * Creates an empty leaderboard.
+     * @param topK How many of the best times to keep for each kind of board.
+     */
+    public Leaderboard(int topK) {
+        if (topK < 0)
+            throw new IllegalArgumentException("Cannot keep " + topK + " times");
+        this.topK = topK;
+    }
+
+    /**
+     * Gets the name a board is ranked under: the name of its difficulty if it matches one, or its size otherwise.
+     *
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     * @param numMines The number of mines on the board.
+     * @return A name like "Hard", or "40x60/500" for a custom board.
+     */
+    public static String key(int rows, int cols, int numMines) {
+        for (Difficulty difficulty : Difficulty.values())
+            if (difficulty.getRows() == rows && difficulty.getCols() == cols && difficulty.getNumMines() == numMines)
+                return difficulty.getName();
+        return rows + "x" + cols + "/" + numMines;
+    }
+
+    /**
+     * Adds the time of a won game.
+     *
+     * @param key The kind of board the game was played on, such as a difficulty name.
+     * @param seconds The time the game took, in seconds.
+     * @return true if the time is now one of the best K times for that kind of board.
+     */
+    public boolean submit(String key, double seconds) {
+        if (!(seconds > 0))
+            return false; // not a time a game could have taken
+        Board board = board(key);
+        board.counts.incrementAndGet(bucketOf(seconds));
+        board.total.increment();
+        return offer(board, seconds);
+    }
+
+    /**
+     * Puts a time into the best times of a board, if it is good enough.
+     * @return true if it made it in.
+     */
+    private boolean offer(Board board, double seconds) {
+        while (true) {
+            double[] times = board.top.get();
+            if (times.length == topK && (topK == 0 || seconds >= times[topK - 1]))
+                return false; // the usual case once the board has filled up, so it is checked first
+
+            int at = 0;
+            while (at < times.length && times[at] <= seconds) at++;
+            double[] next = new double[Math.min(times.length + 1, topK)];
+            System.arraycopy(times, 0, next, 0, at);
+            next[at] = seconds;
+            System.arraycopy(times, at, next, at + 1, next.length - at - 1);
+            if (board.top.compareAndSet(times, next))
+                return true;
+        }
+    }
+
+    /**
+     * Adds a number of times to a bucket of the histogram at once, without them being candidates for the best times.
+     * This is for reading back a histogram that was saved with getBucketCount.
+     *
+     * @param key The kind of board.
+     * @param bucket The bucket the times fell in.
+     * @param count The number of times.
+     */
+    public void addToBucket(String key, int bucket, long count) {
+        if (bucket < 0 || bucket >= NUM_BUCKETS || count <= 0)
+            return;
+        Board board = board(key);
+        board.counts.addAndGet(bucket, count);
+        board.total.add(count);
+    }
+
+    private Board board(String key) {
+        return boards.computeIfAbsent(key, k -> new Board());
+    }
+
+    /**
+     * Gets the best times for a kind of board.
+     * @param key The kind of board.
+     * @return A copy of the best times, fastest first, which holds fewer than K times if not enough have been submitted.
+     */
+    public double[] getTopTimes(String key) {
+        Board board = boards.get(key);
+        return board == null ? new double[0] : board.top.get().clone();
+    }
+
+    /**
+     * Works out the percentile rank of a time: the percentage of all the times submitted for a kind of board
+     * that were as fast or faster. Within a bucket the times are taken to be spread evenly.
+     *
+     * @param key The kind of board.
+     * @param seconds The time to rank, in seconds.
+     * @return A percentage from 0 to 100, or NaN if no times have been submitted.
+     */
+    public double getPercentile(String key, double seconds) {
+        Board board = boards.get(key);
+        long total = board == null ? 0 : board.total.sum();
+        if (total == 0)
+            return Double.NaN;
+
+        long millis = toMillis(seconds);
+        int bucket = bucket(millis);
+        double below = 0;
+        for (int i = 0; i < bucket; i++)
+            below += board.counts.get(i);
+        long low = lowestMillis(bucket);
+        double fraction = (millis - low + 1) / (double) (lowestMillis(bucket + 1) - low);
+        below += board.counts.get(bucket) * fraction;
+        return Math.min(100, 100 * below / total);
+    }
+
+    /**
+     * Works out the time a given percentage of the times submitted for a kind of board were as fast as,
+     * such as the median for 50. The answer is the middle of the bucket it falls in.
+     *
+     * @param key The kind of board.
+     * @param percentile A percentage from 0 to 100.
+     * @return The time, in seconds, or NaN if no times have been submitted.
+     */
+    public double getTimeAtPercentile(String key, double percentile) {
+        Board board = boards.get(key);
+        long total = board == null ? 0 : board.total.sum();
+        if (total == 0)
+            return Double.NaN;
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        int bucket = 0;
+        while (bucket < NUM_BUCKETS - 1 && (seen += board.counts.get(bucket)) < rank)
+            bucket++;
+        return (lowestMillis(bucket) + lowestMillis(bucket + 1) - 1) / 2000.0;
+    }
+
+    /**
+     * @param key The kind of board.
+     * @return The number of times submitted for it.
+     */
+    public long getCount(String key) {
+        Board board = boards.get(key);
+        return board == null ? 0 : board.total.sum();
+    }
+
+    /**
+     * @param key The kind of board.
+     * @param bucket A bucket of the histogram, from 0 to getNumBuckets() - 1.
+     * @return The number of times in that bucket.
+     */
+    public long getBucketCount(String key, int bucket) {
+        Board board = boards.get(key);
+        return board == null ? 0 : board.counts.get(bucket);
+    }
+
+    /**
+     * @return The kinds of board that have had times submitted.
+     */
+    public Set<String> getKeys() {
+        return boards.keySet();
+    }
+
+    /**
+     * @return The number of best times kept for each kind of board.
+     */
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * @return The number of buckets in each histogram.
+     */
+    public static int getNumBuckets() {
+        return NUM_BUCKETS;
+    }
+
+    /**
+     * Turns a time in seconds into the whole milliseconds the histogram counts in.
+     */
+    private static long toMillis(double seconds) {
+        return Math.min(MAX_MILLIS, Math.max(0, Math.round(seconds * 1000)));
+    }
+
+    /**
+     * Gets the bucket of the histogram a time in seconds falls in.
+     * @param seconds The time, in seconds.
+     * @return The index of the bucket.
+     */
+    static int bucketOf(double seconds) {
+        return bucket(toMillis(seconds));
+    }
+
+    /**
+     * Gets the bucket of the histogram a time falls in.
+     * Times under 64 milliseconds get a bucket each, and after that every power of two is split into 32.
+     *
+     * @param millis The time, in milliseconds.
+     * @return The index of the bucket.
+     */
+    public static int bucket(long millis) {
+        if (millis < 2 * SUB_BUCKETS)
+            return (int) millis;
+        int shift = 63 - Long.numberOfLeadingZeros(millis) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (millis >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Gets the fastest time that falls in a bucket, the reverse of bucket().
+     *
+     * @param bucket The index of the bucket.
+     * @return The time, in milliseconds.
+     */
+    public static long lowestMillis(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        return (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+}
@@ -0,0 +1,499 @@
+package Models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Random;
+import java.util.SplittableRandom;
+import Utils.GUESS_STATUS;
+
+
+/**
+ * This class holds the model for a game of Minesweeper, focusing on the gameplay area itself.
+ * 
+ * The rules of the game are carried out by a GameEngine, which stores the tiles in a compact BoardState once the player makes their first click.
+ * MineSweeperTile views onto them are only created for code that asks for the whole board, while the class keeps track of gameplay information that needs to be stored,
+ * such as elapsed time and variables that are relevant during setup.
+ * The class also updates its observers with any changes to the board state.
+ * Each game's mines are placed from a seed, so every move is also recorded in a MoveLog which can rebuild the game later on.
+ * Games whose mines are placed by a NoGuessGenerator have no MoveLog, since the generator doesn't always give the same board for a seed,
+ * and neither do custom boards whose names are too long for the log.
+ *
+ */
+@SuppressWarnings("deprecation")
+public class MineSweeperBoard extends Observable {
+
+	/**
+	 * The engine holding the board state and carrying out the rules of the game.
+	 * Its board state stays null until the mines are placed on the first click.
+	 */
+	private GameEngine engine;
+	/**
+	 * A 2D array of MineSweeperTile views onto the state, only created when someone asks for it.
+	 */
+	private MineSweeperTile[][] board;
+	private Observer observer; // do we need a list?
+	private int numBombs;
+	private String difficulty;
+	private final GameClock clock;
+	private int rows = 16, cols = 24;
+	/**
+	 * The seed the engine places the mines from, and the moves made since, unless the game came from somewhere else.
+	 */
+	private long seed;
+	private MoveLog moveLog;
+	
+	/**
+	 * Constructor for the MineSweeperBoard model object.
+	 * 
+	 * @param difficulty A string representing the difficulty of the game, which affects board size and mine density.
+	 */
+	public MineSweeperBoard(String difficulty) {
+		// set dimensions and number of bombs
+		setBoardDimensions(difficulty);
+
+		clock = new GameClock(); // only starts on the first click
+		this.difficulty = difficulty;
+	}
+
+	/**
+	 * This takes in a difficulty and changes the
+	 * board dimensions and number of bombs to match that.
+	 * Besides the names of the difficulties, this takes custom names like "40x60/500" from Difficulty.customName,
+	 * and anything else gets a Normal board.
+	 * @param difficulty - the difficulty for this board
+	 */
+	public void setBoardDimensions(String difficulty) {
+		int[] custom = Difficulty.parseCustom(difficulty);
+		if (custom != null) {
+			rows = custom[0];
+			cols = custom[1];
+			numBombs = custom[2];
+		} else {
+			Difficulty setting = Difficulty.fromName(difficulty);
+			rows = setting.getRows();
+			cols = setting.getCols();
+			numBombs = setting.getNumMines();
+		}
+		board = null; // any tile views would be for the old size
+		seed = new Random().nextLong();
+		NoGuessGenerator generator = engine == null ? null : engine.getGenerator();
+		engine = new GameEngine(rows, cols, numBombs, new SplittableRandom(seed));
+		engine.setGenerator(generator);
+		moveLog = null;
+	}
+	
+	/**
+	 * Places all the mines and unmined tiles once the player clicks the
+	 * first tile.
+	 * 
+	 * @param row is the y coord of the first tile clicked
+	 * @param col is the x coord of the first tile clicked
+	 */
+	public void createBoard(int row, int col, Random random) {
+		// Start the timer
+		clock.start();
+		/* row and col are for the first clicked tile to
+		 * make sure a bomb isn't placed there */
+		engine.setNumMines(numBombs);
+		engine.generate(engine.getGrid().index(row, col), random);
+		moveLog = null; // the mines did not come from our seed, so the moves alone can't rebuild the game
+		boardCreated();
+	}
+
+	/**
+	 * Catches up with the mines having been placed, however that happened.
+	 */
+	private void boardCreated() {
+		numBombs = engine.getNumMines(); // fewer if there was not room for all of them
+
+		// fill in the tile views if someone is already holding onto the board
+		if (board != null)
+			fillBoard();
+    }
+	
+	/**
+	 * Moves the tile towards the indicated status, by the same moves a player would make, so every rule
+	 * of the game still applies: GUESSED reveals it, and FLAGGED or UNGUESSED flags or unflags it
+	 * if it isn't that already. Anything the rules don't allow, such as flagging a revealed tile, does nothing,
+	 * and so does BOMB, since only the game itself shows the mines.
+	 * 
+	 * @param row is the y coord of the tile to be updated
+	 * @param col is the x coord of the tile to be updated
+	 * @param status is the new status of the tile
+	 */
+	public void updateTileStatus(int row, int col, GUESS_STATUS status) {
+		if (status == GUESS_STATUS.GUESSED) {
+			revealTile(row, col);
+			return;
+		}
+		byte current = engine.getStatus(engine.getGrid().index(row, col));
+		if ((current == BoardState.FLAGGED && status == GUESS_STATUS.UNGUESSED)
+				|| (current == BoardState.UNGUESSED && status == GUESS_STATUS.FLAGGED))
+			toggleFlag(row, col);
+	}
+	
+	/**
+	 * Reveals a tile, along with every tile in the region of zero tiles connected to it.
+	 * The first reveal places the mines and starts the clock, revealing a mine loses the game,
+	 * and revealing the last safe tile wins it. Either way every mine is then shown.
+	 * The observer is only notified once, after the whole region has been revealed.
+	 *
+	 * @param row is the y coord of the tile to reveal
+	 * @param col is the x coord of the tile to reveal
+	 * @return the number of tiles that were revealed
+	 */
+	public int revealTile(int row, int col) {
+		int cell = engine.getGrid().index(row, col);
+		boolean first = !isGenerated();
+		if (first) {
+			clock.start();
+			engine.setNumMines(numBombs);
+			moveLog = engine.getGenerator() == null && MoveLog.fitsName(difficulty)
+					? new MoveLog(difficulty, rows, cols, numBombs, seed) : null;
+		}
+		int revealed = engine.reveal(cell); // the first reveal places the mines from the seed
+		if (first)
+			boardCreated();
+		record(MoveLog.REVEAL, cell);
+		notifyObservers();
+		return revealed;
+	}
+
+	/**
+	 * Flags an unguessed tile, or removes the flag from a flagged tile.
+	 * Nothing happens before the first click or once the game is over.
+	 *
+	 * @param row is the y coord of the tile to flag
+	 * @param col is the x coord of the tile to flag
+	 */
+	public void toggleFlag(int row, int col) {
+		int cell = engine.getGrid().index(row, col);
+		engine.toggleFlag(cell);
+		record(MoveLog.FLAG, cell);
+		notifyObservers();
+	}
+
+	/**
+	 * Reveals every tile around a tile that is not flagged, as when the player double clicks it.
+	 * The observer is only notified once, after all of them have been revealed.
+	 *
+	 * @param row is the y coord of the tile in the middle
+	 * @param col is the x coord of the tile in the middle
+	 * @return the number of tiles that were revealed
+	 */
+	public int chord(int row, int col) {
+		int cell = engine.getGrid().index(row, col);
+		int revealed = engine.chord(cell);
+		record(MoveLog.CHORD, cell);
+		notifyObservers();
+		return revealed;
+	}
+
+	/**
+	 * Adds a move to the log, if this game is being logged.
+	 * Moves that could not change anything, like flags before the first click, are still recorded,
+	 * since replaying them does nothing either.
+	 *
+	 * @param type the kind of move, from MoveLog
+	 * @param cell the index of the tile the move was made on
+	 */
+	private void record(byte type, int cell) {
+		if (moveLog == null)
+			return;
+		try {
+			moveLog.append(type, cell, clock.getElapsedMillis());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // only a log on the heap is kept here, which never throws
+		}
+	}
+
+	/**
+	 * This method notifies observers when the board has changed.
+	 * The observer is passed the BoardChanges holding every tile changed since the last notification,
+	 * which are then forgotten.
+	 */
+	public void notifyObservers() {
+		BoardState state = engine.getState();
+		assert state == null || state.countersMatch() : "board counters are out of sync";
+		if (observer != null)
+			observer.update(this, engine.getChanges());
+		engine.getChanges().clear();
+	}
+
+	// GETTERS AND SETTERS
+
+	/**
+	 * Method to return the entire board.
+	 * Before the first click every tile is null, and afterwards each tile is a view onto the board state,
+	 * so the same array stays up to date as the game goes on.
+	 * @return the board object as a MineSweeperTile 2D array
+	 */
+	public MineSweeperTile[][] getBoard() {
+		if (board == null) {
+			board = new MineSweeperTile[rows][cols];
+			if (isGenerated())
+				fillBoard();
+		}
+		return board;
+	}
+
+	/**
+	 * Creates a tile view for every position of the board array.
+	 */
+	private void fillBoard() {
+		BoardState state = engine.getState();
+		for (int row = 0; row < rows; row++)
+			for (int col = 0; col < cols; col++)
+				board[row][col] = new MineSweeperTile(this, state, row * cols + col, row, col);
+	}
+
+	/**
+	 * Gets the grid describing this board's shape, used to look up the neighbours of a tile.
+	 * @return the HexGrid for this board's dimensions
+	 */
+	public HexGrid getGrid() {
+		return engine.getGrid();
+	}
+
+	/**
+	 * Gets the engine carrying out the rules of the game on this board
+	 * @return the GameEngine for this board
+	 */
+	public GameEngine getEngine() {
+		return engine;
+	}
+
+	/**
+	 * Gets the log of every move made in this game, which can be replayed to rebuild it
+	 * @return the MoveLog, or null before the first click, or if the game was loaded or its mines were placed some other way
+	 */
+	public MoveLog getMoveLog() {
+		return moveLog;
+	}
+
+	/**
+	 * Gets the state of every tile on the board
+	 * @return the BoardState, or null if the mines have not been placed yet
+	 */
+	public BoardState getState() {
+		return engine.getState();
+	}
+
+	/**
+	 * Sets the board to an existing board state, from a loaded file.
+	 * @param newState - the new state from a file to replace the old one, or null for a board with no mines placed yet
+	 * @param gameOver - whether the loaded game had ended
+	 * @param win - whether the player of the loaded game won
+	 */
+	public void setState(BoardState newState, boolean gameOver, boolean win) {
+		engine.setState(newState, gameOver, win);
+		engine.setNumMines(numBombs);
+		moveLog = null; // a loaded board has no moves to rebuild it from
+		board = null;
+	}
+
+	/**
+	 * Checks if the mines have been placed yet, which happens on the player's first click
+	 * @return true if the board has been generated, false otherwise
+	 */
+	public boolean isGenerated() {
+		return engine.isGenerated();
+	}
+
+	/**
+	 * Checks if the game has ended, either by revealing a mine or every safe tile
+	 * @return true if the game is over, false otherwise
+	 */
+	public boolean isGameOver() {
+		return engine.isOver();
+	}
+
+	/**
+	 * Checks if the player won the game
+	 * @return true if the game is over and the player won, false otherwise
+	 */
+	public boolean isWon() {
+		return engine.isWon();
+	}
+
+	/**
+	 * Gets the status of a single tile, without creating a MineSweeperTile for it
+	 * @param row is the y coord of the tile
+	 * @param col is the x coord of the tile
+	 * @return the guess status of the tile
+	 */
+	public GUESS_STATUS getStatus(int row, int col) {
+		return GUESS_STATUS.fromCode(engine.getStatus(engine.getGrid().index(row, col)));
+	}
+
+	/**
+	 * Checks if a single tile holds a bomb, without creating a MineSweeperTile for it
+	 * @param row is the y coord of the tile
+	 * @param col is the x coord of the tile
+	 * @return true if the tile is a bomb, false otherwise
+	 */
+	public boolean isBomb(int row, int col) {
+		return engine.getState().isMine(engine.getGrid().index(row, col));
+	}
+
+	/**
+	 * Gets the number of bombs around a single tile, without creating a MineSweeperTile for it
+	 * @param row is the y coord of the tile
+	 * @param col is the x coord of the tile
+	 * @return the number of adjacent bombs
+	 */
+	public int getMineCount(int row, int col) {
+		return engine.getMineCount(engine.getGrid().index(row, col));
+	}
+
+	/**
+	 * Adds an observer to notify of changes.
+	 *
+	 * @param o The observer to add, presumably a view object.
+	 */
+	public void setObserver(Observer o) {
+		observer = o;
+	}
+
+	/**
+	 * Disables the game timer by pausing the game clock
+	 * We call this when we pause the game
+	 */
+	public void disableTimer() {
+		clock.pause();
+	}
+
+	/**
+	 * Enables the game timer by resuming the game clock
+	 * We call this when we resume the game
+	 */
+	public void enableTimer() {
+		clock.resume();
+	}
+
+	/**
+	 * This determines if the game is paused by checking if the game clock is paused
+	 * @return - true if the game is paused (the timer is inactive), false otherwise
+	 */
+	public boolean isGamePaused() {
+		return clock.isPaused();
+	}
+	
+	/**
+	 * Updates the elapsed time to match an input in milliseconds.
+	 * The clock is only started if the mines have been placed, otherwise it still waits for the first click.
+	 * 
+	 * @param elapsed A number of milliseconds to update the timer to.
+	 */
+	public void setMillisElapsed(long elapsed) {
+		if (isGenerated())
+			clock.setElapsedMillis(elapsed);
+	}
+
+	/**
+	 * Gets the number of milliseconds that have elapsed in the game. Reading the time does not change it.
+	 *
+	 * @return The number of elapsed milliseconds.
+	 */
+	public long getMillisElapsed() {
+		return clock.getElapsedMillis();
+	}
+
+	/**
+	 * Calculates the number of seconds that have elapsed in the game, and returns it as a double.
+	 * Reading the time does not change it, so this can be called as often as needed.
+	 *
+	 * @return The number of elapsed seconds, as a double with millisecond precision.
+	 */
+	public double getSecondsElapsed() {
+		return clock.getElapsedMillis() / 1000.0;
+	}
+
+	/**
+	 * Gets the current game difficulty
+	 * @return This game's difficulty setting, expressed as a string (like "Easy" or "Very Hard").
+	 */
+	public String getDifficulty() {
+		return difficulty;
+	}
+
+	/**
+	 * Gets the rows of this board
+	 * @return The number of rows in the Minesweeper board.
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * Gets the columns of this board
+	 * @return The number of columns in the Minesweeper board.
+	 */
+	public int getCols() {
+		return cols;
+	}
+
+	/**
+	 * Returns the numBombs variable, which stores the number of bombs on the board.
+	 * 
+	 * Note that this is the intended number of bombs to place, before game setup,
+	 * and not the number that actually *were* placed (if, somehow, it might be different).
+	 * 
+	 * @return The number of bombs on the Minesweeper board.
+	 */
+	public int getNumBombs() {
+		return numBombs;
+	}
+
+	/**
+	 * This function gets the number of flagged tiles, which the board state keeps count of as flags are placed
+	 * @return - the number of tiles which have been flagged
+	 */
+	public int getNumFlags() {
+		return engine.getNumFlagged();
+	}
+
+	/**
+	 * Gets the number of tiles the player has revealed so far
+	 * @return - the number of tiles which have been guessed
+	 */
+	public int getNumRevealed() {
+		return engine.getNumRevealed();
+	}
+
+	/**
+	 * Gets the number of tiles without a mine that the player still has to reveal to win
+	 * @return - the number of safe tiles left, or the size of the whole board before the first click
+	 */
+	public int getRemainingSafe() {
+		return isGenerated() ? engine.getRemainingSafe() : rows * cols;
+	}
+	
+	/**
+	 * Sets the *displayed* and *calculated* number of bombs on the board, not the actual number of tiles with bombs on them!
+	 * 
+	 * This method is called when loading from a saved file, to ensure that we
+	 * keep using the saved target number of bombs to end the game,
+	 * rather than the overwritten target number.
+	 * 
+	 * @param newNumBombs The new such number of bombs.
+	 */
+	public void setNumBombs(int newNumBombs) {
+		numBombs = newNumBombs;
+		engine.setNumMines(newNumBombs);
+	}
+	
+	/**
+	 * Sets the *written* difficulty of the board, not the actual in-game difficulty!
+	 * 
+	 * This method is called when loading from a saved file, to ensure that we
+	 * save to the correct scoreboard slot, rather than that of the game we overwrote.
+	 * 
+	 * @param newDifficulty The new such difficulty.
+	 */
+	public void setDifficulty(String newDifficulty) {
+		difficulty = newDifficulty;
+	}
+}
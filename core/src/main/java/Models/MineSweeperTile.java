@@ -1,52 +1,42 @@
 package Models;
 
 import Utils.GUESS_STATUS;
-import javafx.util.Pair;
-
-import java.io.Serializable;
-import java.util.ArrayList;
 
 /**
- * This class stores all of the information about a single tile on the Minesweeper board.
- * 
+ * This class gives access to all of the information about a single tile on the Minesweeper board.
+ *
  * A tile needs to know whether it has been guessed, unguessed, flagged, or has a bomb revealed,
  * which is stored in its GUESS_STATUS variable. It also needs to know how many adjacent bombs there are,
  * so it can reveal the number if it is clicked on. Finally, it stores its own coordinates
  * and whether it has a bomb on itself.
  *
+ * The information itself lives in a BoardState, and a tile is only a lightweight view onto one of its entries,
+ * so any change made through a tile is seen by the board, and the other way around. Setting the status of a board's
+ * tile is a move on that board, the same as MineSweeperBoard.updateTileStatus, so the rules of the game still apply.
  */
-public class MineSweeperTile implements Serializable{
+public class MineSweeperTile {
 
-    private GUESS_STATUS status;
-    
-    /**
-     * The number of tiles adjacent to this one that contain mines.
-     */
-    private int mineCount;
+    private final BoardState state;
+    private final int cell;
     private final int row, col;
-    
-    /** Indicates if the tile contains a bomb,
-     *  and thus whether or not the number of bombs around it should be shown.
-     */
-    private boolean bomb;
+    private final MineSweeperBoard board; // null for a tile with a state of its own
 
     /**
      * Creates a new tile at a given coordinate and with a certain status.
-     * 
+     * This tile is not part of any board, so it keeps its own state.
+     *
      * @param row The row to place this tile at.
      * @param col The column to place this tile at.
      * @param status The guess status to give this tile when placing it.
      */
     public MineSweeperTile(int row, int col, GUESS_STATUS status) {
-    	this.row = row;
-    	this.col = col;
-    	this.status = status;
-        mineCount = 0;
+    	this(null, new BoardState(1, 1), 0, row, col);
+    	setStatus(status);
     }
-    
+
     /**
      * Constructor without a guess status, which defaults to creating an unguessed tile.
-     * 
+     *
      * @param row The row to place this tile at.
      * @param col The column to place this tile at.
      */
@@ -54,16 +44,33 @@ public class MineSweeperTile implements Serializable{
     	this(row, col, GUESS_STATUS.UNGUESSED);
 	}
 
+    /**
+     * Creates a view onto a tile of an existing board.
+     *
+     * @param board The board this tile is on, which its status is changed through.
+     * @param state The state of the board this tile is on.
+     * @param cell The index of this tile in the state.
+     * @param row The row of this tile.
+     * @param col The column of this tile.
+     */
+    MineSweeperTile(MineSweeperBoard board, BoardState state, int cell, int row, int col) {
+        this.board = board;
+        this.state = state;
+        this.cell = cell;
+        this.row = row;
+        this.col = col;
+    }
+
     /**
      * Counts up tiles which are adjacent to this one, and adds one to the mineCount variable
      * each time one of them contains a mine.
-     * 
+     *
      * @param board The entire MineSweeperTile[][] array with the current board state,
      */
     public void updateCount(MineSweeperTile[][] board) {
-    	for (Pair <Integer, Integer> pair : getAdjacentTiles()) {
-            int row = pair.getKey();
-            int col = pair.getValue();
+    	for (int i = 0; i < HexGrid.NEIGHBORS; i++) {
+            int row = this.row + HexGrid.rowOffset(i);
+            int col = this.col + HexGrid.colOffset(this.row, i);
 
             if (row >= 0 && row < board.length && col  >= 0
                     && col < board[row].length && board[row][col].isBomb())
@@ -75,7 +82,7 @@ public class MineSweeperTile implements Serializable{
      * Adds one to the labeled number of adjacent mines.
      */
     public void addMineCount() {
-        mineCount = mineCount + 1;
+        state.addMineCount(cell);
     }
 
     // GETTERS AND SETTERS
@@ -85,53 +92,52 @@ public class MineSweeperTile implements Serializable{
      * These coordinates CAN be outside the bounds of the board,
      * so it is best to always check whether or not they are in bounds.
      *
-     * @return A list of (x, y) coordinate pairs that the surrounding tiles have, expressed as an ArrayList of Integer Pairs.
+     * Code that runs often should use HexGrid.neighbors instead, which skips these and creates no arrays.
+     *
+     * @return The {row, col} coordinates of the surrounding tiles, expressed as an array of int pairs.
      */
-    public ArrayList<Pair<Integer, Integer>> getAdjacentTiles() {
-        // creating variables
-        ArrayList<Pair<Integer, Integer>> adjacents = new ArrayList<>();
-        int[][] adj = {{0, -1},{0, 1},{1, 0},{1, 1},{-1, 0},{-1, 1}};
-        if (row%2 == 0)
-            adj = new int[][]{{0, -1}, {0, 1}, {1, -1}, {1, 0}, {-1, -1}, {-1, 0}};
-
-        // filling and returning variables
-        for (int[] tup : adj)
-            adjacents.add(new Pair<>(row + tup[0], col + tup[1]));
+    public int[][] getAdjacentTiles() {
+        int[][] adjacents = new int[HexGrid.NEIGHBORS][];
+        for (int i = 0; i < HexGrid.NEIGHBORS; i++)
+            adjacents[i] = new int[]{row + HexGrid.rowOffset(i), col + HexGrid.colOffset(row, i)};
         return adjacents;
     }
 
     /**
-     * Sets the current status of this specific tile
+     * Sets the current status of this specific tile. For a tile on a board this is a move on the board,
+     * made through MineSweeperBoard.updateTileStatus, so a move the rules don't allow does nothing.
      * @param status The new guess status of this tile (guessed, unguessed, flagged, mine revealed).
      */
 	public void setStatus(GUESS_STATUS status) {
-    	this.status = status;
+		if (board != null)
+			board.updateTileStatus(row, col, status);
+		else
+			state.setStatus(cell, status.code());
     }
-    
+
 	/**
      * Gets the current status of this specific tile
 	 * @return The guess status of this tile (guessed, unguessed, flagged, mine revealed).
 	 */
     public GUESS_STATUS getStatus() {
-    	return status;
+    	return GUESS_STATUS.fromCode(state.getStatus(cell));
     }
-    
+
     /**
      * Checks if this tile is a bomb
      * @return true if this is a bomb, false otherwise
      */
     public boolean isBomb() {
-    	return bomb;
+    	return state.isMine(cell);
     }
-    
+
     /**
      * Mark that this tile contains a mine.
-     * 
+     *
      * This method also sets the mineCount to 0, since the number of adjacent mines should never be displayed on a mine tile.
      */
     public void setBomb() {
-    	bomb = true;
-        mineCount = 0; // 0 because we dont count the number of bombs around other bombs
+    	state.setMine(cell); // also sets the count to 0, because we dont count the number of bombs around other bombs
     }
 
     /**
@@ -139,6 +145,6 @@ public class MineSweeperTile implements Serializable{
      * @return The number of adjacent mines.
      */
     public int getMineCount() {
-    	return mineCount;
+    	return state.getMineCount(cell);
     }
 }
@@ -0,0 +1,366 @@
+package Models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * This class records a game as the seed its mines were placed from, followed by every move made in it.
+ *
+ * Since the mines only depend on the seed and the first tile revealed, playing the same moves on a new
+ * GameEngine seeded the same way always ends up in exactly the same state, so the log is enough to rebuild
+ * the game at any point of it. Recording a move only appends one small record, rather than saving the whole board.
+ *
+ * A log is kept in a buffer which is either on the heap or mapped onto a file, in which case every move
+ * reaches the file as soon as the operating system writes the page out, without any calls to write it.
+ * The buffer starts with a fixed size header holding the board size, the seed and the number of moves,
+ * followed by one eight byte record per move: the move and its tile packed into an int, and the number of
+ * milliseconds since the previous move.
+ */
+public class MoveLog implements AutoCloseable {
+
+    /**
+     * The kinds of move, as stored in a record.
+     */
+    public static final byte REVEAL = 0;
+    public static final byte FLAG = 1;
+    public static final byte CHORD = 2;
+
+    private static final int MAGIC = 0x48584C47; // "HXLG"
+    private static final short VERSION = 1;
+    private static final int NAME_BYTES = 16;
+    // magic, version, padding, rows, cols, mines, seed, count, difficulty name
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 4 + 4 + 4 + 8 + 4 + NAME_BYTES;
+    private static final int COUNT_OFFSET = HEADER_BYTES - NAME_BYTES - 4;
+    private static final int RECORD_BYTES = 8;
+    private static final int CELL_BITS = 28;
+    private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+
+    private final String difficulty;
+    private final int rows, cols, numMines;
+    private final long seed;
+    private FileChannel channel; // null unless the log is mapped onto a file
+    private ByteBuffer buffer;
+    private int count;
+    private long elapsedMillis; // the time of the last move
+
+    /**
+     * Creates an empty log on the heap.
+     *
+     * @param difficulty The name of the game's difficulty, of at most 16 bytes.
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     * @param numMines The number of mines to place.
+     * @param seed The seed the mines are placed from.
+     */
+    public MoveLog(String difficulty, int rows, int cols, int numMines, long seed) {
+        this(difficulty, rows, cols, numMines, seed, ByteBuffer.allocate(HEADER_BYTES + 64 * RECORD_BYTES), null);
+        writeHeader();
+    }
+
+    private MoveLog(String difficulty, int rows, int cols, int numMines, long seed, ByteBuffer buffer,
+                    FileChannel channel) {
+        if ((long) rows * cols > CELL_MASK)
+            throw new IllegalArgumentException("Board is too large to log");
+        this.difficulty = difficulty;
+        this.rows = rows;
+        this.cols = cols;
+        this.numMines = numMines;
+        this.seed = seed;
+        this.buffer = buffer;
+        this.channel = channel;
+    }
+
+    /**
+     * Checks if a difficulty name fits in a log's header. The names of the usual difficulties always do,
+     * but a custom board's name, like "2048x2048/400000", can be too long.
+     *
+     * @param difficulty The name of the game's difficulty.
+     * @return true if it is at most 16 bytes.
+     */
+    public static boolean fitsName(String difficulty) {
+        return difficulty.getBytes(StandardCharsets.UTF_8).length <= NAME_BYTES;
+    }
+
+    /**
+     * Creates an empty log mapped onto a file, replacing anything already in it.
+     *
+     * @param path The file to keep the log in.
+     * @param difficulty The name of the game's difficulty, of at most 16 bytes.
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     * @param numMines The number of mines to place.
+     * @param seed The seed the mines are placed from.
+     * @return The new log.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    public static MoveLog create(Path path, String difficulty, int rows, int cols, int numMines, long seed)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MoveLog log = new MoveLog(difficulty, rows, cols, numMines, seed,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + 256 * RECORD_BYTES), channel);
+        log.writeHeader();
+        return log;
+    }
+
+    /**
+     * Opens a log kept in a file, mapping it so that more moves can be appended.
+     *
+     * @param path The file the log is kept in.
+     * @return The log.
+     * @throws IOException If the file cannot be read, or does not hold a valid log.
+     */
+    public static MoveLog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Not a move log");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            return fromBuffer(buffer, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a log from a buffer holding a copy of one.
+     *
+     * @param source The buffer to read from, which is not changed.
+     * @return A log on the heap holding the same moves.
+     * @throws IOException If the buffer does not hold a valid log.
+     */
+    public static MoveLog read(ByteBuffer source) throws IOException {
+        ByteBuffer copy = ByteBuffer.allocate(Math.max(source.remaining(), HEADER_BYTES));
+        copy.put(source.duplicate()).clear();
+        return fromBuffer(copy, null);
+    }
+
+    /**
+     * Checks the header of a buffer and wraps a log around it.
+     */
+    private static MoveLog fromBuffer(ByteBuffer buffer, FileChannel channel) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IOException("Not a move log");
+        if (buffer.getShort(4) != VERSION)
+            throw new IOException("Unsupported move log version " + buffer.getShort(4));
+
+        int rows = buffer.getInt(8);
+        int cols = buffer.getInt(12);
+        int numMines = buffer.getInt(16);
+        long seed = buffer.getLong(20);
+        int count = buffer.getInt(COUNT_OFFSET);
+        if (rows <= 0 || cols <= 0 || count < 0 || HEADER_BYTES + (long) count * RECORD_BYTES > buffer.capacity())
+            throw new IOException("Corrupt move log header");
+
+        byte[] name = new byte[NAME_BYTES];
+        buffer.get(HEADER_BYTES - NAME_BYTES, name);
+        int length = 0;
+        while (length < NAME_BYTES && name[length] != 0) length++;
+
+        MoveLog log = new MoveLog(new String(name, 0, length, StandardCharsets.UTF_8), rows, cols, numMines, seed,
+                buffer, channel);
+        log.count = count;
+        for (int i = 0; i < count; i++) {
+            log.elapsedMillis += log.getDelay(i);
+            if (log.getCell(i) >= (long) rows * cols || log.getType(i) > CHORD)
+                throw new IOException("Corrupt move record " + i);
+        }
+        return log;
+    }
+
+    /**
+     * Writes the header into the start of the buffer.
+     */
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putInt(8, rows);
+        buffer.putInt(12, cols);
+        buffer.putInt(16, numMines);
+        buffer.putLong(20, seed);
+        buffer.putInt(COUNT_OFFSET, 0);
+        if (!fitsName(difficulty))
+            throw new IllegalArgumentException("Difficulty name is too long to log: " + difficulty);
+        buffer.put(HEADER_BYTES - NAME_BYTES, difficulty.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Records a move at the end of the log.
+     *
+     * @param type The kind of move, REVEAL, FLAG or CHORD.
+     * @param cell The index of the tile the move was made on.
+     * @param atMillis The game time the move was made at, in milliseconds, which should never go backwards.
+     * @throws IOException If the log is mapped onto a file and growing the file fails.
+     */
+    public void append(byte type, int cell, long atMillis) throws IOException {
+        int offset = HEADER_BYTES + count * RECORD_BYTES;
+        if (offset + RECORD_BYTES > buffer.capacity())
+            grow();
+
+        long delay = Math.max(0, Math.min(Integer.MAX_VALUE, atMillis - elapsedMillis));
+        buffer.putInt(offset, (type << CELL_BITS) | cell);
+        buffer.putInt(offset + 4, (int) delay);
+        elapsedMillis += delay;
+        // the count goes last, so a log cut off partway through a record still reads back as every move before it
+        buffer.putInt(COUNT_OFFSET, ++count);
+    }
+
+    /**
+     * Doubles the room for records, remapping the file if the log is kept in one.
+     */
+    private void grow() throws IOException {
+        long size = Math.min(Integer.MAX_VALUE, 2L * buffer.capacity());
+        if (size <= buffer.capacity())
+            throw new IOException("Move log is full");
+        if (channel != null) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } else {
+            ByteBuffer bigger = ByteBuffer.allocate((int) size);
+            bigger.put(buffer.duplicate().clear());
+            buffer = bigger;
+        }
+    }
+
+    /**
+     * Rebuilds the game as it was after every move in the log.
+     * @return A new engine holding the game.
+     */
+    public GameEngine replay() {
+        return replay(count);
+    }
+
+    /**
+     * Rebuilds the game as it was after some of the moves in the log, by playing them again.
+     *
+     * @param moves The number of moves to play, from the start of the log.
+     * @return A new engine holding the game.
+     */
+    public GameEngine replay(int moves) {
+        GameEngine engine = new GameEngine(rows, cols, numMines, new SplittableRandom(seed));
+        for (int i = 0; i < moves; i++) {
+            int cell = getCell(i);
+            switch (getType(i)) {
+                case REVEAL -> engine.reveal(cell);
+                case FLAG -> engine.toggleFlag(cell);
+                case CHORD -> engine.chord(cell);
+            }
+        }
+        engine.getChanges().clear();
+        return engine;
+    }
+
+    /**
+     * Makes sure every move so far has reached the disk, if the log is mapped onto a file.
+     */
+    public void force() {
+        if (buffer instanceof MappedByteBuffer mapped)
+            mapped.force();
+    }
+
+    /**
+     * Copies the log into a new buffer, holding only the header and the moves so far.
+     * @return A buffer ready to be read from.
+     */
+    public ByteBuffer encode() {
+        ByteBuffer used = buffer.duplicate().position(0).limit(HEADER_BYTES + count * RECORD_BYTES);
+        return ByteBuffer.allocate(used.remaining()).put(used).flip();
+    }
+
+    /**
+     * Closes the file the log is mapped onto, if there is one. The log cannot be appended to afterwards.
+     * @throws IOException If closing the file fails.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            force();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    // GETTERS
+
+    /**
+     * Gets the kind of a move
+     * @param i The position of the move in the log.
+     * @return REVEAL, FLAG or CHORD.
+     */
+    public byte getType(int i) {
+        return (byte) (buffer.getInt(HEADER_BYTES + i * RECORD_BYTES) >>> CELL_BITS);
+    }
+
+    /**
+     * Gets the tile a move was made on
+     * @param i The position of the move in the log.
+     * @return The index of the tile.
+     */
+    public int getCell(int i) {
+        return buffer.getInt(HEADER_BYTES + i * RECORD_BYTES) & CELL_MASK;
+    }
+
+    /**
+     * Gets the time between a move and the one before it
+     * @param i The position of the move in the log.
+     * @return The delay before the move, in milliseconds.
+     */
+    public int getDelay(int i) {
+        return buffer.getInt(HEADER_BYTES + i * RECORD_BYTES + 4);
+    }
+
+    /**
+     * @return The number of moves in the log.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return The game time of the last move, in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return The name of the game's difficulty.
+     */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @return The number of rows in the board.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The number of columns in the board.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return The number of mines placed on the first reveal.
+     */
+    public int getNumMines() {
+        return numMines;
+    }
+
+    /**
+     * @return The seed the mines are placed from.
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,404 @@
+package Models;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class places mines so that the game can be won from the first click without ever having to guess.
+ *
+ * A board is checked by playing it with a Solver: reveal the first click, reveal every tile the solver proves safe,
+ * and repeat until the board is won or nothing more can be proven. Few random boards pass on the harder difficulties,
+ * so rather than throwing a board away when the solver gets stuck, some of the mines it couldn't place are moved from
+ * the edge of the revealed area to somewhere nobody has seen yet, and the solver carries on. Those moves change
+ * numbers that were already revealed, so once the solver gets to the end the board is played again from the start,
+ * and is only kept if it wins without any moves that time. If a board runs out of places to move mines to, it is
+ * dropped and a new one is tried.
+ *
+ * Several boards are tried at once on a small pool of threads, each from its own random numbers, and the first one
+ * to pass is used. If none has passed before the time limit, an ordinary random board is used instead, and counted
+ * as a fallback. The metrics kept along the way (boards, attempts, repairs and fallbacks) say how hard it was.
+ *
+ * Since the winning board depends on which thread gets there first, the same seed can give different boards.
+ *
+ * Each generator has its own pool, or runs on the executor it was given, and its own metrics. A generator that made
+ * its own pool should be closed once nothing will ask it for boards any more.
+ */
+public class NoGuessGenerator implements AutoCloseable {
+
+    /**
+     * The most mines moved on one board before it is given up on.
+     */
+    static final int MAX_REPAIRS = 1000;
+    /**
+     * One mine is moved at a time, plus one more for every this many mines the solver is stuck on.
+     */
+    private static final int MOVE_DIVIDER = 2;
+
+    private static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private final Executor executor;
+    private final ExecutorService ownPool; // null if the executor was given to it, which its owner shuts down
+    private final int parallelism;
+    private final long timeoutNanos;
+
+    private final LongAdder boards = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder repairs = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Creates a generator with a pool of its own, which tries one board per thread at once and gives up after 50 ms.
+     * The pool's threads are stopped by close.
+     */
+    public NoGuessGenerator() {
+        this(newPool(), THREADS, 50, true);
+    }
+
+    /**
+     * Creates a generator, which can be used for boards of any size, from any number of threads at once.
+     *
+     * @param executor Runs the attempts. It should have a fixed number of threads, at least as many as parallelism.
+     * @param parallelism How many boards to try at once.
+     * @param timeoutMillis How long to look for a board before settling for a random one, in milliseconds.
+     */
+    public NoGuessGenerator(Executor executor, int parallelism, long timeoutMillis) {
+        this(executor, parallelism, timeoutMillis, false);
+    }
+
+    private NoGuessGenerator(Executor executor, int parallelism, long timeoutMillis, boolean owned) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Cannot try " + parallelism + " boards at once");
+        this.executor = executor;
+        this.ownPool = owned ? (ExecutorService) executor : null;
+        this.parallelism = parallelism;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    private static ExecutorService newPool() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "no-guess-" + threadCount.incrementAndGet());
+            thread.setDaemon(true); // nothing is lost if these are stopped halfway
+            return thread;
+        });
+    }
+
+    /**
+     * Stops the generator's own pool, if it made one, abandoning any attempts still running.
+     * Boards asked for afterwards are placed at random and counted as fallbacks.
+     */
+    @Override
+    public void close() {
+        if (ownPool != null)
+            ownPool.shutdownNow();
+    }
+
+    /**
+     * Places the mines for a game, keeping the starting tile and the tiles around it free of mines like
+     * GameEngine.generate does, and works out the number of adjacent mines for every tile.
+     * This waits until a board has been found or the time limit has passed.
+     * If there is not room for every mine, every tile outside the starting area gets one, as with GameEngine.
+     *
+     * @param grid The grid for the board's size.
+     * @param numMines The number of mines to place.
+     * @param startCell The index of the first tile revealed.
+     * @param seed The seed the attempts' random numbers are split from.
+     * @return A new board with every tile unguessed, which can be won without guessing unless it was a fallback.
+     */
+    public BoardState generate(HexGrid grid, int numMines, int startCell, long seed) {
+        long start = System.nanoTime();
+        long deadline = start + timeoutNanos;
+        SplittableRandom random = new SplittableRandom(seed);
+        CompletableFuture<BoardState> found = new CompletableFuture<>();
+        AtomicBoolean stop = new AtomicBoolean();
+
+        int started = 0;
+        for (int i = 0; i < parallelism; i++) {
+            SplittableRandom own = random.split();
+            try {
+                executor.execute(() -> search(grid, numMines, startCell, own, deadline, stop, found));
+                started++;
+            } catch (RejectedExecutionException e) {
+                break; // the pool is shutting down, so make do with whatever was started
+            }
+        }
+
+        BoardState state = null;
+        try {
+            if (started > 0)
+                state = found.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // settle for a random board below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stop.set(true);
+        }
+
+        if (state == null) {
+            state = randomBoard(grid, numMines, startCell, random);
+            fallbacks.increment();
+        } else {
+            for (int cell = 0; cell < state.size(); cell++)
+                state.setStatus(cell, BoardState.UNGUESSED);
+        }
+        boards.increment();
+        long took = System.nanoTime() - start;
+        maxNanos.accumulateAndGet(took, Math::max);
+        return state;
+    }
+
+    /**
+     * Keeps trying boards on one thread until one passes, another thread finds one, or time runs out.
+     */
+    private void search(HexGrid grid, int numMines, int startCell, SplittableRandom random, long deadline,
+                        AtomicBoolean stop, CompletableFuture<BoardState> found) {
+        try {
+            Attempt attempt = new Attempt(grid);
+            while (!stop.get() && System.nanoTime() - deadline < 0) {
+                BoardState state = tryBoard(attempt, numMines, startCell, random, stop, deadline);
+                if (state != null) {
+                    found.complete(state);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            found.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Tries one board, moving mines until it passes or there is nowhere left to move them.
+     * @return The board if it passed, with the statuses it was played with, or null if it didn't.
+     */
+    private BoardState tryBoard(Attempt attempt, int numMines, int startCell, SplittableRandom random,
+                                AtomicBoolean stop, long deadline) {
+        BoardState state = randomBoard(attempt.grid, numMines, startCell, random);
+        attempts.increment();
+        boolean fresh = true; // whether the board has been played from the start since it last changed
+        int moved = 0;
+        while (!stop.get() && System.nanoTime() - deadline < 0) {
+            if (attempt.play(state, startCell)) {
+                if (fresh)
+                    return state;
+                for (int cell = 0; cell < state.size(); cell++)
+                    state.setStatus(cell, BoardState.UNGUESSED);
+                fresh = true;
+                continue;
+            }
+            if (++moved > MAX_REPAIRS || !attempt.repair(state, random))
+                return null;
+            repairs.increment();
+            fresh = false;
+        }
+        return null;
+    }
+
+    /**
+     * Places mines at random, as GameEngine.generate does.
+     */
+    private static BoardState randomBoard(HexGrid grid, int numMines, int startCell, SplittableRandom random) {
+        BoardState state = new BoardState(grid.getRows(), grid.getCols());
+        int[] safeZone = new int[HexGrid.NEIGHBORS + 1];
+        int safeSize = grid.neighbors(startCell, safeZone);
+        safeZone[safeSize++] = startCell;
+        Arrays.sort(safeZone, 0, safeSize);
+        state.placeMines(numMines, safeZone, safeSize, random);
+        state.computeMineCounts(grid);
+        return state;
+    }
+
+    /**
+     * Checks whether a board can be won from a first click without guessing, as the generator would.
+     *
+     * @param state The board, whose statuses are ignored and left alone.
+     * @param startCell The index of the first tile revealed, which should not hold a mine.
+     * @return true if the Solver can win the board from there.
+     */
+    public static boolean isSolvable(BoardState state, int startCell) {
+        HexGrid grid = new HexGrid(state.getRows(), state.getCols());
+        BoardState copy = new BoardState(state.getRows(), state.getCols());
+        for (int word = 0; word < (state.size() + 63) / 64; word++)
+            copy.setMineWord(word, state.getMineWord(word));
+        copy.computeMineCounts(grid);
+        return !copy.isMine(startCell) && new Attempt(grid).play(copy, startCell);
+    }
+
+    /**
+     * One thread's working space for trying boards, reused from one board to the next.
+     */
+    private static final class Attempt {
+        final HexGrid grid;
+        final Solver solver;
+        final RevealEngine revealEngine;
+        final BoardChanges changes;
+        final int[] neighbors = new int[HexGrid.NEIGHBORS];
+        final int[] from, to; // the tiles a mine may be moved from and to
+
+        Attempt(HexGrid grid) {
+            this.grid = grid;
+            solver = new Solver(grid);
+            revealEngine = new RevealEngine(grid);
+            changes = new BoardChanges(grid.getRows(), grid.getCols());
+            from = new int[grid.size()];
+            to = new int[grid.size()];
+        }
+
+        /**
+         * Plays a board as far as the solver can, starting by revealing the first click if it isn't already.
+         * @return true if every safe tile ended up revealed.
+         */
+        boolean play(BoardState state, int startCell) {
+            if (state.getStatus(startCell) == BoardState.UNGUESSED)
+                revealEngine.reveal(state, startCell, changes);
+            while (state.getRemainingSafe() > 0) {
+                solver.solve(state);
+                boolean revealed = false;
+                for (int cell = 0; cell < state.size(); cell++)
+                    if (solver.isSafe(cell) && state.getStatus(cell) == BoardState.UNGUESSED) {
+                        revealEngine.reveal(state, cell, changes);
+                        revealed = true;
+                    }
+                changes.clear();
+                if (!revealed)
+                    return false;
+            }
+            changes.clear();
+            return true;
+        }
+
+        /**
+         * Moves some of the mines the solver got stuck on, from next to the revealed area to tiles that are not
+         * next to it, after the solver has been run on the board. If the solver has placed every mine next to the
+         * revealed area, some of those are moved instead, which opens up whatever they were walling off.
+         * Any revealed tile left with no adjacent mines then has the tiles around it revealed, as it would have in a game.
+         * @return false if there is no mine to move or nowhere to move it to.
+         */
+        boolean repair(BoardState state, SplittableRandom random) {
+            int numFrom = 0, numKnown = 0, numTo = 0;
+            for (int cell = 0; cell < state.size(); cell++) {
+                if (state.getStatus(cell) != BoardState.UNGUESSED || solver.isSafe(cell))
+                    continue;
+                boolean edge = nextToRevealed(state, cell);
+                if (state.isMine(cell)) {
+                    if (!edge) continue;
+                    // mines the solver hasn't placed go first, and the ones it has at the back
+                    if (solver.isMine(cell))
+                        from[from.length - ++numKnown] = cell;
+                    else
+                        from[numFrom++] = cell;
+                } else if (!edge) {
+                    to[numTo++] = cell;
+                }
+            }
+            if (numFrom == 0) {
+                // only the mines the solver has placed are left to move, so move those
+                System.arraycopy(from, from.length - numKnown, from, 0, numKnown);
+                numFrom = numKnown;
+            }
+            if (numFrom == 0 || numTo == 0)
+                return false;
+
+            // moving a few at once gets there in fewer rounds of solving than one at a time
+            int count = Math.min(Math.min(1 + numFrom / MOVE_DIVIDER, numFrom), numTo);
+            for (int i = 0; i < count; i++) {
+                int pick = random.nextInt(numFrom - i);
+                int mine = from[pick];
+                from[pick] = from[numFrom - 1 - i];
+                pick = random.nextInt(numTo - i);
+                state.removeMine(mine);
+                state.setMine(to[pick]);
+                to[pick] = to[numTo - 1 - i];
+                from[numFrom - 1 - i] = mine; // kept to open up around afterwards
+            }
+            state.computeMineCounts(grid);
+
+            for (int i = 0; i < count; i++) {
+                int around = grid.neighbors(from[numFrom - 1 - i], neighbors);
+                int[] cells = Arrays.copyOf(neighbors, around);
+                for (int j = 0; j < around; j++)
+                    if (state.getStatus(cells[j]) == BoardState.GUESSED && state.getMineCount(cells[j]) == 0)
+                        openAround(state, cells[j]);
+            }
+            changes.clear();
+            return true;
+        }
+
+        /**
+         * Reveals the tiles around a revealed tile with no adjacent mines, and any regions of zero tiles they lead to.
+         */
+        private void openAround(BoardState state, int cell) {
+            int count = grid.neighbors(cell, neighbors);
+            int[] cells = Arrays.copyOf(neighbors, count);
+            for (int i = 0; i < count; i++)
+                if (state.getStatus(cells[i]) == BoardState.UNGUESSED)
+                    revealEngine.reveal(state, cells[i], changes);
+        }
+
+        private boolean nextToRevealed(BoardState state, int cell) {
+            int count = grid.neighbors(cell, neighbors);
+            for (int i = 0; i < count; i++)
+                if (state.getStatus(neighbors[i]) == BoardState.GUESSED)
+                    return true;
+            return false;
+        }
+    }
+
+    // METRICS
+
+    /**
+     * @return The number of boards generated, including fallbacks.
+     */
+    public long getBoards() {
+        return boards.sum();
+    }
+
+    /**
+     * @return The number of random boards started on, across every thread.
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * @return The number of times a mine was moved to get the solver unstuck.
+     */
+    public long getRepairs() {
+        return repairs.sum();
+    }
+
+    /**
+     * @return The number of boards that ran out of time and were placed at random instead.
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * @return The average number of random boards started on for every board generated, or 0 if none have been.
+     */
+    public double getAttemptsPerBoard() {
+        long count = boards.sum();
+        return count == 0 ? 0 : attempts.sum() / (double) count;
+    }
+
+    /**
+     * @return The longest any board took to generate, in milliseconds.
+     */
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+}
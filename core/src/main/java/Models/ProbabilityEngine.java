@@ -0,0 +1,750 @@
+package Models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class works out the chance that each unrevealed tile is a mine, from only what the player can see:
+ * the numbers on the revealed tiles and the total number of mines. The view uses it for its heat map.
+ *
+ * The Solver goes first, so the tiles it can prove are safe or mines get 0 or 1 right away and are left out of
+ * everything else. The undecided tiles next to revealed numbers (the frontier) are then split into components,
+ * where two tiles are in the same component if some chain of numbers links them, since what happens in one
+ * component has no effect on another except through the total number of mines. Each component's ways of placing
+ * mines are enumerated, counting how many ways there are for each number of mines in it, and how often each of
+ * its tiles holds a mine in them. Every other undecided tile is interior, and all of them are alike.
+ *
+ * The components are then put together: a way of placing k mines in the frontier leaves C(interior, mines left - k)
+ * ways to place the rest, so each component's counts are weighted by that, summed over the other components'
+ * numbers of mines. The binomials are worked out from a table of log factorials made once, so they never overflow.
+ * The components' counts are multiplied together in a balanced tree, and the weights are passed back down it, so
+ * every component learns what the rest of the board adds up to without multiplying the others together once for
+ * each of them. Before that, every count for k mines is tilted by t^k and every weight by t^-k, which changes nothing
+ * in the end but makes both peak in about the same place, so each product can be scaled to its largest entry and its
+ * far tails dropped without losing anything that matters, even with thousands of components.
+ *
+ * A component too big to enumerate within a number of steps is sampled instead: random ways of placing its mines are
+ * found for a share of a time budget and counted as if they were all its ways, which makes its chances approximate.
+ * Each component's counts are kept between calls, keyed by its tiles and numbers, so after a move only the
+ * components the move changed are worked out again, and the rest are only put back together.
+ *
+ * An engine is not thread safe, and is made for boards of one size.
+ */
+public class ProbabilityEngine {
+
+    /**
+     * The most steps spent looking for one sample before starting over.
+     */
+    private static final int SAMPLE_STEPS = 1 << 14;
+    /**
+     * Entries of a product this much smaller than its largest are dropped, being far too unlikely to matter.
+     */
+    private static final double NEGLIGIBLE = 1e-200;
+
+    private final HexGrid grid;
+    private final Solver solver;
+    private final int exactSteps;
+    private final long sampleNanos;
+    private final SplittableRandom random;
+    private final double[] lnFactorial;
+    private final double[] probabilities;
+    private final int[] neighbors = new int[HexGrid.NEIGHBORS];
+    private final int[] parent; // the union-find forest joining the frontier into components
+    private final long[] undecided; // one bit per tile left undecided by this call's solve
+
+    private Map<Key, Component> cache = new HashMap<>();
+    private int numComponents, numComputed;
+    // what the last combine was given, so it can be skipped when none of it changed
+    private int lastInterior = -1, lastMinesLeft = -1;
+    private boolean exact;
+    private double interiorProbability;
+
+    /**
+     * Creates an engine which spends up to a million steps enumerating a component, and samples for at most
+     * 20 milliseconds per call.
+     * @param grid The grid describing the board's shape.
+     */
+    public ProbabilityEngine(HexGrid grid) {
+        this(grid, 1 << 20, 20, 57);
+    }
+
+    /**
+     * Creates an engine.
+     *
+     * @param grid The grid describing the board's shape.
+     * @param exactSteps The most steps to spend enumerating one component before it is sampled instead.
+     * @param sampleMillis The most time to spend sampling components too big to enumerate, per call, in milliseconds.
+     * @param seed The seed for sampling.
+     */
+    public ProbabilityEngine(HexGrid grid, int exactSteps, long sampleMillis, long seed) {
+        this.grid = grid;
+        this.solver = new Solver(grid);
+        this.exactSteps = exactSteps;
+        this.sampleNanos = TimeUnit.MILLISECONDS.toNanos(sampleMillis);
+        this.random = new SplittableRandom(seed);
+        lnFactorial = new double[grid.size() + 1];
+        for (int n = 2; n <= grid.size(); n++)
+            lnFactorial[n] = lnFactorial[n - 1] + Math.log(n);
+        probabilities = new double[grid.size()];
+        parent = new int[grid.size()];
+        undecided = new long[(grid.size() + 63) >>> 6];
+    }
+
+    /**
+     * Works out the chance of a mine for every tile of a board, as the player sees it.
+     *
+     * @param state The board, of the size the engine was made for. Flags are not trusted, so flagged tiles get a chance too.
+     * @return The chance of each tile, by index, from 0 to 1, or NaN for revealed tiles. The array is reused by the next call.
+     */
+    public double[] compute(BoardState state) {
+        solver.solve(state);
+        Arrays.fill(undecided, 0);
+        int numUndecided = 0;
+        for (int cell = 0; cell < grid.size(); cell++) {
+            byte status = state.getStatus(cell);
+            if (status == BoardState.GUESSED || status == BoardState.BOMB)
+                probabilities[cell] = Double.NaN;
+            else if (solver.isSafe(cell))
+                probabilities[cell] = 0;
+            else if (solver.isMine(cell))
+                probabilities[cell] = 1;
+            else {
+                undecided[cell >>> 6] |= 1L << cell; // its chance is filled in by combine
+                numUndecided++;
+            }
+            parent[cell] = -1; // not in the frontier
+        }
+
+        List<Component> components = findComponents(state);
+        int frontier = 0;
+        for (Component component : components)
+            frontier += component.cells.length;
+        int interior = numUndecided - frontier;
+        int minesLeft = state.getNumMines() - solver.getNumMines();
+
+        // work out the components that changed, and take the rest from last time
+        Map<Key, Component> kept = new HashMap<>();
+        List<Component> toSample = new ArrayList<>();
+        int previous = cache.size();
+        numComputed = 0;
+        exact = true;
+        for (int i = 0; i < components.size(); i++) {
+            Component component = components.get(i);
+            Component cached = cache.get(component.key);
+            if (cached != null) {
+                components.set(i, cached);
+                component = cached;
+            } else {
+                numComputed++;
+                if (!enumerate(component))
+                    toSample.add(component);
+            }
+            kept.put(component.key, component);
+            exact &= component.exact;
+        }
+        long deadline = System.nanoTime() + sampleNanos;
+        double density = numUndecided == 0 ? 0 : Math.min(1, Math.max(0, minesLeft / (double) numUndecided));
+        for (int i = 0; i < toSample.size(); i++) {
+            long share = (deadline - System.nanoTime()) / (toSample.size() - i);
+            sample(toSample.get(i), System.nanoTime() + share, density);
+        }
+        cache = kept;
+        numComponents = components.size();
+
+        if (numComputed == 0 && previous == components.size() && interior == lastInterior && minesLeft == lastMinesLeft) {
+            // the very same components as last time, so the frontier's chances are too, and only the interior is redone
+            fillInterior();
+            return probabilities;
+        }
+        lastInterior = interior;
+        lastMinesLeft = minesLeft;
+        combine(components, interior, minesLeft);
+        return probabilities;
+    }
+
+    /**
+     * Builds the constraint for every revealed number with undecided tiles around it, and joins those tiles into components.
+     */
+    private List<Component> findComponents(BoardState state) {
+        List<int[]> constraints = new ArrayList<>(); // the number's tile, its mines left, then its undecided tiles
+        for (int cell = 0; cell < grid.size(); cell++) {
+            if (state.getStatus(cell) != BoardState.GUESSED || state.getMineCount(cell) == 0)
+                continue;
+            int count = grid.neighbors(cell, neighbors);
+            int[] constraint = new int[2 + count];
+            int size = 2, mines = state.getMineCount(cell);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (solver.isMine(neighbor))
+                    mines--;
+                else if (isUndecided(state, neighbor))
+                    constraint[size++] = neighbor;
+            }
+            if (size == 2)
+                continue;
+            constraint[0] = cell;
+            constraint[1] = mines;
+            constraints.add(Arrays.copyOf(constraint, size));
+            for (int i = 2; i < size; i++) {
+                if (parent[constraint[i]] < 0)
+                    parent[constraint[i]] = constraint[i];
+                union(constraint[2], constraint[i]);
+            }
+        }
+
+        // group the constraints and tiles by the root of their component, in the order the roots are first seen
+        Map<Integer, List<int[]>> byRoot = new HashMap<>();
+        List<Integer> roots = new ArrayList<>();
+        for (int[] constraint : constraints) {
+            int root = find(constraint[2]);
+            List<int[]> group = byRoot.get(root);
+            if (group == null) {
+                group = new ArrayList<>();
+                byRoot.put(root, group);
+                roots.add(root);
+            }
+            group.add(constraint);
+        }
+        List<Component> components = new ArrayList<>(roots.size());
+        for (int root : roots)
+            components.add(new Component(byRoot.get(root)));
+        return components;
+    }
+
+    private boolean isUndecided(BoardState state, int cell) {
+        byte status = state.getStatus(cell);
+        return (status == BoardState.UNGUESSED || status == BoardState.FLAGGED)
+                && !solver.isSafe(cell) && !solver.isMine(cell);
+    }
+
+    private int find(int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]];
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    private void union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a != b)
+            parent[Math.max(a, b)] = Math.min(a, b);
+    }
+
+    /**
+     * Counts every way of placing mines in a component.
+     * @return false if there were too many to count, in which case the component is left to be sampled.
+     */
+    private boolean enumerate(Component component) {
+        Search search = new Search(component);
+        int steps = 0;
+        int depth = 0;
+        while (depth >= 0) {
+            if (depth == search.size) {
+                search.record(1);
+                search.undo(--depth);
+                continue;
+            }
+            if (search.tried[depth] == 2) {
+                search.tried[depth] = 0;
+                if (--depth >= 0)
+                    search.undo(depth);
+                continue;
+            }
+            if (++steps > exactSteps) {
+                component.clear();
+                return false;
+            }
+            if (search.assign(depth, search.tried[depth]++))
+                depth++;
+        }
+        component.exact = true;
+        return true;
+    }
+
+    /**
+     * Estimates the counts of a component by sampling until the deadline. Each sample gives the tiles values one at a
+     * time, choosing at random whenever both values would still let every number be met, and is counted with the
+     * inverse of the chance of making those choices, so on average it counts every way once (importance sampling).
+     * A sample that runs into a number it can't meet counts for nothing.
+     */
+    private void sample(Component component, long deadline, double density) {
+        Search search = new Search(component);
+        double chance = Math.min(0.9, Math.max(0.1, density)); // of choosing a mine, when both would do
+        double lnChance = Math.log(chance), lnOther = Math.log(1 - chance);
+        double reference = Double.NaN; // the log of the weight every count is kept relative to, so none overflow
+        do {
+            double lnWeight = 0;
+            int depth = 0;
+            for (; depth < search.size; depth++) {
+                boolean safe = search.canAssign(depth, 0), mine = search.canAssign(depth, 1);
+                if (!safe && !mine)
+                    break;
+                int value = mine ? 1 : 0;
+                if (safe && mine) {
+                    value = random.nextDouble() < chance ? 1 : 0;
+                    lnWeight -= value == 1 ? lnChance : lnOther;
+                }
+                search.assign(depth, value);
+            }
+            if (depth == search.size) {
+                if (Double.isNaN(reference) || lnWeight > reference + 100) {
+                    if (!Double.isNaN(reference))
+                        component.rescale(Math.exp(reference - lnWeight));
+                    reference = lnWeight;
+                }
+                search.record(Math.exp(lnWeight - reference));
+            }
+            while (depth > 0) // start the next sample from an empty component
+                search.undo(--depth);
+        } while (System.nanoTime() - deadline < 0);
+
+        if (Double.isNaN(reference)) {
+            // no way was found at all, so spread the board's density over the component
+            int mines = (int) Math.round(density * component.cells.length);
+            component.solutions[mines] = 1;
+            Arrays.fill(component.tallies[mines], density);
+        }
+        component.exact = false;
+    }
+
+    /**
+     * Puts the components' counts together with the interior into the chance of every undecided tile.
+     */
+    private void combine(List<Component> components, int interior, int minesLeft) {
+        int count = components.size(), frontier = 0;
+        for (Component component : components)
+            frontier += component.cells.length;
+
+        // the tilt makes the weight of the interior level around the number of mines the frontier most likely holds
+        int expected = frontier + interior == 0 ? 0 : (int) Math.round((double) frontier * minesLeft / (frontier + interior));
+        expected = Math.max(Math.max(0, minesLeft - interior), Math.min(Math.min(minesLeft, frontier), expected));
+        double lnTilt = Math.log(Math.max(minesLeft - expected, 0.5)) - Math.log(Math.max(interior - minesLeft + expected + 1, 0.5));
+
+        // a balanced tree of products, with the components at the leaves and empty products padding it out
+        int leaves = Integer.highestOneBit(Math.max(1, count - 1)) << 1;
+        Series[] tree = new Series[2 * leaves];
+        for (int i = 0; i < leaves; i++)
+            tree[leaves + i] = i < count ? components.get(i).tilted(lnTilt) : Series.ONE;
+        for (int node = leaves - 1; node >= 1; node--)
+            tree[node] = tree[2 * node].times(tree[2 * node + 1]);
+
+        // the weight of leaving some number of mines for the interior, tilted the other way, relative to the largest
+        Series all = tree[1];
+        double[] weights = new double[all.values.length];
+        double largest = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < weights.length; i++)
+            largest = Math.max(largest, tiltedLnWeight(all.offset + i, interior, minesLeft, lnTilt));
+        double total = 0, interiorMines = 0;
+        for (int i = 0; i < weights.length; i++) {
+            int k = all.offset + i;
+            weights[i] = Math.exp(tiltedLnWeight(k, interior, minesLeft, lnTilt) - largest);
+            total += all.values[i] * weights[i];
+            if (minesLeft - k >= 0)
+                interiorMines += all.values[i] * weights[i] * (minesLeft - k);
+        }
+        if (!(total > 0)) {
+            // the numbers can't all be right (the board was edited, say), so there is nothing sensible to say
+            for (int cell = 0; cell < grid.size(); cell++)
+                if (isUndecided(cell))
+                    probabilities[cell] = Double.NaN;
+            interiorProbability = Double.NaN;
+            return;
+        }
+        interiorProbability = interior == 0 ? Double.NaN : interiorMines / total / interior;
+
+        // pass the weights down, so each node learns the weight of each of its numbers of mines given the rest
+        double[][] down = new double[2 * leaves][];
+        down[1] = weights;
+        for (int node = 1; node < leaves; node++) {
+            down[2 * node] = tree[2 * node].weighted(tree[2 * node + 1], down[node], tree[node].offset);
+            down[2 * node + 1] = tree[2 * node + 1].weighted(tree[2 * node], down[node], tree[node].offset);
+        }
+
+        for (int i = 0; i < count; i++) {
+            Component component = components.get(i);
+            Series leaf = tree[leaves + i];
+            double[] weight = down[leaves + i];
+            for (int j = 0; j < component.cells.length; j++)
+                probabilities[component.cells[j]] = 0;
+            double leafTotal = 0;
+            for (int at = 0; at < leaf.values.length; at++)
+                leafTotal += leaf.values[at] * weight[at];
+            for (int at = 0; at < leaf.values.length; at++) {
+                int k = leaf.offset + at;
+                if (component.solutions[k] == 0 || leaf.values[at] == 0)
+                    continue;
+                // the chance of this many mines in the component, over the number of ways of placing them
+                double share = leaf.values[at] * weight[at] / leafTotal / component.solutions[k];
+                double[] tally = component.tallies[k];
+                for (int j = 0; j < component.cells.length; j++)
+                    probabilities[component.cells[j]] += tally[j] * share;
+            }
+        }
+        fillInterior();
+    }
+
+    /**
+     * @return The log of the ways of placing the interior's mines when the frontier holds k, tilted by t^-k.
+     */
+    private double tiltedLnWeight(int k, int interior, int minesLeft, double lnTilt) {
+        return lnChoose(interior, minesLeft - k) - k * lnTilt;
+    }
+
+    /**
+     * Gives every undecided tile outside the frontier the interior's chance.
+     */
+    private void fillInterior() {
+        for (int cell = 0; cell < grid.size(); cell++)
+            if (parent[cell] == -1 && isUndecided(cell))
+                probabilities[cell] = interiorProbability;
+    }
+
+    /**
+     * @return true if the tile was found undecided on this call, whether it is in the frontier or not.
+     */
+    private boolean isUndecided(int cell) {
+        return (undecided[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * @return The log of n choose k, or negative infinity if k is out of range.
+     */
+    private double lnChoose(int n, int k) {
+        if (k < 0 || k > n)
+            return Double.NEGATIVE_INFINITY;
+        return lnFactorial[n] - lnFactorial[k] - lnFactorial[n - k];
+    }
+
+    /**
+     * The undecided tiles of one component and the numbers around them, along with how many ways there are of
+     * placing mines in it for each number of mines, and how often each tile holds one.
+     */
+    private static final class Component {
+        final Key key;
+        final int[] cells; // sorted
+        final int[][] constraints; // each number's mines left, then the positions in cells of its tiles
+        final double[] solutions;
+        final double[][] tallies; // by number of mines, then by position in cells
+        boolean exact;
+
+        Component(List<int[]> group) {
+            int[] found = new int[group.size() * HexGrid.NEIGHBORS];
+            int size = 0;
+            for (int[] constraint : group)
+                for (int i = 2; i < constraint.length; i++)
+                    found[size++] = constraint[i];
+            Arrays.sort(found, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++)
+                if (unique == 0 || found[unique - 1] != found[i])
+                    found[unique++] = found[i];
+            cells = Arrays.copyOf(found, unique);
+
+            constraints = new int[group.size()][];
+            int[] keyData = new int[cells.length + 1 + group.size() * 2];
+            System.arraycopy(cells, 0, keyData, 0, cells.length);
+            keyData[cells.length] = -1;
+            int at = cells.length + 1;
+            for (int c = 0; c < group.size(); c++) {
+                int[] constraint = group.get(c);
+                int[] local = new int[constraint.length - 1];
+                local[0] = constraint[1];
+                for (int i = 2; i < constraint.length; i++)
+                    local[i - 1] = Arrays.binarySearch(cells, constraint[i]);
+                constraints[c] = local;
+                keyData[at++] = constraint[0];
+                keyData[at++] = constraint[1];
+            }
+            key = new Key(keyData);
+            solutions = new double[cells.length + 1];
+            tallies = new double[cells.length + 1][cells.length];
+        }
+
+        void clear() {
+            rescale(0);
+        }
+
+        void rescale(double factor) {
+            for (int k = 0; k < solutions.length; k++) {
+                solutions[k] *= factor;
+                for (int j = 0; j < tallies[k].length; j++)
+                    tallies[k][j] *= factor;
+            }
+        }
+
+        /**
+         * @return The counts of ways by number of mines k, each times t^k, scaled so the largest is 1.
+         */
+        Series tilted(double lnTilt) {
+            double largest = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < solutions.length; k++)
+                if (solutions[k] > 0)
+                    largest = Math.max(largest, Math.log(solutions[k]) + k * lnTilt);
+            double[] values = new double[solutions.length];
+            for (int k = 0; k < values.length; k++)
+                if (solutions[k] > 0)
+                    values[k] = Math.exp(Math.log(solutions[k]) + k * lnTilt - largest);
+            return Series.trimmed(0, values);
+        }
+    }
+
+    /**
+     * Some numbers by number of mines, starting at offset mines, known only up to a common factor.
+     */
+    private static final class Series {
+        static final Series ONE = new Series(0, new double[] {1});
+
+        final int offset;
+        final double[] values;
+
+        Series(int offset, double[] values) {
+            this.offset = offset;
+            this.values = values;
+        }
+
+        /**
+         * Scales some numbers so the largest is 1, then drops the negligible ones from both ends.
+         */
+        static Series trimmed(int offset, double[] values) {
+            double largest = 0;
+            for (double value : values)
+                largest = Math.max(largest, value);
+            if (!(largest > 0))
+                return new Series(offset, new double[] {0}); // nothing at all, which stays nothing
+            int first = 0, last = values.length - 1;
+            while (values[first] < largest * NEGLIGIBLE) first++;
+            while (values[last] < largest * NEGLIGIBLE) last--;
+            double[] kept = new double[last - first + 1];
+            for (int i = 0; i < kept.length; i++)
+                kept[i] = values[first + i] / largest;
+            return new Series(offset + first, kept);
+        }
+
+        /**
+         * @return The ways of both together, by their total number of mines.
+         */
+        Series times(Series other) {
+            double[] result = new double[values.length + other.values.length - 1];
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == 0) continue;
+                for (int j = 0; j < other.values.length; j++)
+                    result[i + j] += values[i] * other.values[j];
+            }
+            return trimmed(offset + other.offset, result);
+        }
+
+        /**
+         * Works out the weight of each of this series' numbers of mines, given the weights of its parent's,
+         * by summing over the numbers of mines its sibling could have.
+         *
+         * @param sibling The other child of the parent.
+         * @param parentWeights The weights of the parent's numbers of mines.
+         * @param parentOffset The number of mines the parent's weights start at.
+         * @return The weights, lined up with this series' values and scaled so the largest is 1.
+         */
+        double[] weighted(Series sibling, double[] parentWeights, int parentOffset) {
+            double[] result = new double[values.length];
+            double largest = 0;
+            for (int i = 0; i < result.length; i++) {
+                double sum = 0;
+                int start = offset + i + sibling.offset - parentOffset;
+                for (int j = Math.max(0, -start); j < sibling.values.length && start + j < parentWeights.length; j++)
+                    sum += sibling.values[j] * parentWeights[start + j];
+                result[i] = sum;
+                largest = Math.max(largest, sum);
+            }
+            if (largest > 0)
+                for (int i = 0; i < result.length; i++)
+                    result[i] /= largest;
+            return result;
+        }
+    }
+
+    /**
+     * The working space for searching the ways of placing mines in a component, one tile at a time.
+     * The tiles are visited in the order the numbers reach them, so a number is usually settled soon after it is
+     * started on, and a wrong turn is noticed early.
+     */
+    private static final class Search {
+        final Component component;
+        final int size;
+        final int[] order; // positions in the component's cells, in the order they are visited
+        final int[][] constraintsOf; // for each step, the constraints of its tile
+        final int[] minesLeft, openLeft; // for each constraint, the mines it still needs and its tiles still open
+        final int[] tried, value;
+        int mines;
+
+        Search(Component component) {
+            this.component = component;
+            size = component.cells.length;
+            int numConstraints = component.constraints.length;
+            minesLeft = new int[numConstraints];
+            openLeft = new int[numConstraints];
+            List<List<Integer>> byCell = new ArrayList<>(size);
+            for (int i = 0; i < size; i++)
+                byCell.add(new ArrayList<>());
+            for (int c = 0; c < numConstraints; c++) {
+                int[] constraint = component.constraints[c];
+                minesLeft[c] = constraint[0];
+                openLeft[c] = constraint.length - 1;
+                for (int i = 1; i < constraint.length; i++)
+                    byCell.get(constraint[i]).add(c);
+            }
+
+            // a breadth first walk from the first number over the numbers sharing tiles
+            order = new int[size];
+            boolean[] placed = new boolean[size], visited = new boolean[numConstraints];
+            int[] queue = new int[numConstraints];
+            int head = 0, tail = 0, count = 0;
+            for (int start = 0; start < numConstraints; start++) {
+                if (visited[start]) continue;
+                visited[start] = true;
+                queue[tail++] = start;
+                while (head < tail) {
+                    int[] constraint = component.constraints[queue[head++]];
+                    for (int i = 1; i < constraint.length; i++) {
+                        int cell = constraint[i];
+                        if (placed[cell]) continue;
+                        placed[cell] = true;
+                        order[count++] = cell;
+                        for (int c : byCell.get(cell))
+                            if (!visited[c]) {
+                                visited[c] = true;
+                                queue[tail++] = c;
+                            }
+                    }
+                }
+            }
+            constraintsOf = new int[size][];
+            for (int i = 0; i < size; i++)
+                constraintsOf[i] = byCell.get(order[i]).stream().mapToInt(Integer::intValue).toArray();
+            tried = new int[size];
+            value = new int[size];
+        }
+
+        /**
+         * Gives the tile at a step a value, if every number around it can still be met.
+         * @return true if it was given, false if it was left open.
+         */
+        boolean assign(int step, int mine) {
+            int[] constraints = constraintsOf[step];
+            boolean ok = true;
+            for (int c : constraints) {
+                minesLeft[c] -= mine;
+                openLeft[c]--;
+                if (minesLeft[c] < 0 || minesLeft[c] > openLeft[c])
+                    ok = false;
+            }
+            value[step] = mine;
+            mines += mine;
+            if (!ok)
+                undo(step);
+            return ok;
+        }
+
+        /**
+         * @return true if the tile at a step could be given a value without leaving any number around it unmeetable.
+         */
+        boolean canAssign(int step, int mine) {
+            for (int c : constraintsOf[step])
+                if (minesLeft[c] - mine < 0 || minesLeft[c] - mine > openLeft[c] - 1)
+                    return false;
+            return true;
+        }
+
+        void undo(int step) {
+            int mine = value[step];
+            for (int c : constraintsOf[step]) {
+                minesLeft[c] += mine;
+                openLeft[c]++;
+            }
+            mines -= mine;
+        }
+
+        /**
+         * Counts the way every tile has been given a value in.
+         */
+        void record(double weight) {
+            component.solutions[mines] += weight;
+            double[] tally = component.tallies[mines];
+            for (int i = 0; i < size; i++)
+                if (value[i] == 1)
+                    tally[order[i]] += weight;
+        }
+    }
+
+    /**
+     * A component's tiles and numbers, for finding it again on the next call.
+     */
+    private static final class Key {
+        final int[] data;
+        final int hash;
+
+        Key(int[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && Arrays.equals(data, key.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // GETTERS
+
+    /**
+     * @param cell The index of a tile.
+     * @return The chance the tile is a mine, from the last call to compute, or NaN if it is revealed.
+     */
+    public double getProbability(int cell) {
+        return probabilities[cell];
+    }
+
+    /**
+     * @return The chance of a mine on an undecided tile that is not next to any revealed number, or NaN if there are none.
+     */
+    public double getInteriorProbability() {
+        return interiorProbability;
+    }
+
+    /**
+     * @return true if every component was enumerated in full on the last call, so every chance is exact.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * @return The number of components the frontier was split into on the last call.
+     */
+    public int getNumComponents() {
+        return numComponents;
+    }
+
+    /**
+     * @return The number of components that had to be worked out on the last call, rather than taken from the one before.
+     */
+    public int getNumComputed() {
+        return numComputed;
+    }
+
+    /**
+     * @return The grid of the boards this engine works on.
+     */
+    public HexGrid getGrid() {
+        return grid;
+    }
+}
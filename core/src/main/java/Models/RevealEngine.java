@@ -0,0 +1,65 @@
+package Models;
+
+import java.util.Arrays;
+
+/**
+ * This class reveals a tile along with the whole region of zero tiles connected to it, in a single pass.
+ *
+ * Rather than recursing from one zero tile to the next (which can overflow the stack on large open boards),
+ * it keeps an explicit stack of tile indices (row * cols + col) that is reused between reveals.
+ * A tile is marked GUESSED as soon as it is found, so the tile statuses themselves act as the visited set
+ * and every tile is handled at most once, making a reveal linear in the number of tiles it uncovers.
+ */
+public class RevealEngine {
+
+    private final HexGrid grid;
+    private final int[] neighbors = new int[HexGrid.NEIGHBORS];
+    private int[] stack;
+
+    /**
+     * Creates a reveal engine for boards with the given shape.
+     *
+     * @param grid The grid describing the size of the board and its neighbours.
+     */
+    public RevealEngine(HexGrid grid) {
+        this.grid = grid;
+        this.stack = new int[64];
+    }
+
+    /**
+     * Reveals the tile with the given index. If it has no adjacent mines, every connected zero tile
+     * and all the tiles bordering that region are revealed too. Flagged tiles and mines are never revealed.
+     *
+     * @param state The state of the board to reveal on.
+     * @param cell The index of the tile to reveal, which must be an unguessed tile without a mine.
+     * @param changes Every tile revealed is recorded here.
+     * @return The number of tiles that were revealed.
+     */
+    public int reveal(BoardState state, int cell, BoardChanges changes) {
+        int revealed = 1;
+        int top = 0;
+        state.setStatus(cell, BoardState.GUESSED);
+        changes.add(cell);
+        if (state.getMineCount(cell) == 0)
+            stack[top++] = cell;
+
+        // only zero tiles are ever pushed, since they are the only ones that spread
+        while (top > 0) {
+            int count = grid.neighbors(stack[--top], neighbors);
+            for (int i = 0; i < count; i++) {
+                int next = neighbors[i];
+                if (state.isMine(next) || state.getStatus(next) != BoardState.UNGUESSED) continue;
+
+                state.setStatus(next, BoardState.GUESSED);
+                changes.add(next);
+                revealed++;
+                if (state.getMineCount(next) != 0) continue;
+
+                if (top == stack.length)
+                    stack = Arrays.copyOf(stack, top * 2);
+                stack[top++] = next;
+            }
+        }
+        return revealed;
+    }
+}
@@ -0,0 +1,299 @@
+package Models;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class holds everything needed to save and restore a game, and reads and writes it in a compact binary format.
+ *
+ * A save file starts with a header holding a magic number, the format version, the board size and difficulty,
+ * the elapsed time and the board's counters. It is followed, once the mines have been placed, by the mine
+ * bitset (one bit per tile) and the tile statuses packed four to a byte. The numbers of adjacent mines are not
+ * saved, since they are rebuilt from the mines when loading, and the counters in the header are used to check
+ * that the file was read back correctly. Nothing in the file is turned into Java objects other than these values.
+ */
+public class SavedGame {
+
+    private static final int MAGIC = 0x48455853; // "HEXS"
+    private static final short VERSION = 1;
+
+    // bits of the flags byte in the header
+    private static final int GENERATED = 1;
+    private static final int GAME_OVER = 2;
+    private static final int WIN = 4;
+
+    // magic, version, flags, rows, cols, bombs, elapsed, mines, flagged, revealed, difficulty length
+    private static final int HEADER_BYTES = 4 + 2 + 1 + 4 + 4 + 4 + 8 + 4 + 4 + 4 + 2;
+
+    private final String difficulty;
+    private final int rows, cols, numBombs;
+    private final long elapsedMillis;
+    private final boolean gameOver, win;
+    private final BoardState state;
+
+    /**
+     * Creates a saved game from the current state of a game.
+     *
+     * @param difficulty The difficulty of the game.
+     * @param rows The number of rows in the board.
+     * @param cols The number of columns in the board.
+     * @param numBombs The number of bombs shown to the player.
+     * @param elapsedMillis The time spent on the game so far, in milliseconds.
+     * @param gameOver Whether the game has ended.
+     * @param win Whether the player won, or has not lost yet.
+     * @param state The state of every tile, or null if the mines have not been placed yet.
+     */
+    public SavedGame(String difficulty, int rows, int cols, int numBombs, long elapsedMillis,
+                     boolean gameOver, boolean win, BoardState state) {
+        this.difficulty = difficulty;
+        this.rows = rows;
+        this.cols = cols;
+        this.numBombs = numBombs;
+        this.elapsedMillis = elapsedMillis;
+        this.gameOver = gameOver;
+        this.win = win;
+        this.state = state;
+    }
+
+    /**
+     * Writes this game into a new buffer in the save format.
+     * @return A buffer holding the saved game, ready to be read from.
+     */
+    public ByteBuffer encode() {
+        byte[] name = difficulty.getBytes(StandardCharsets.UTF_8);
+        int cells = rows * cols;
+        int size = HEADER_BYTES + name.length;
+        if (state != null)
+            size += mineBytes(cells) + statusBytes(cells);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.put((byte) ((state != null ? GENERATED : 0) | (gameOver ? GAME_OVER : 0) | (win ? WIN : 0)));
+        buffer.putInt(rows);
+        buffer.putInt(cols);
+        buffer.putInt(numBombs);
+        buffer.putLong(elapsedMillis);
+        buffer.putInt(state == null ? 0 : state.getNumMines());
+        buffer.putInt(state == null ? 0 : state.getNumFlagged());
+        buffer.putInt(state == null ? 0 : state.getNumRevealed());
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+
+        if (state != null) {
+            // one bit per tile for the mines, written a whole word at a time
+            for (int word = 0; word < mineBytes(cells) / 8; word++)
+                buffer.putLong(state.getMineWord(word));
+
+            // two bits per tile for the statuses, four tiles to a byte
+            for (int cell = 0; cell < cells; cell += 4) {
+                int packed = 0;
+                for (int i = 0; i < 4 && cell + i < cells; i++)
+                    packed |= state.getStatus(cell + i) << (2 * i);
+                buffer.put((byte) packed);
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Reads a game from a buffer in the save format, rebuilding the numbers of adjacent mines.
+     *
+     * @param buffer The buffer to read from.
+     * @return The saved game.
+     * @throws IOException If the buffer does not hold a valid saved game.
+     */
+    public static SavedGame decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC)
+            throw new IOException("Not a Hex Sweeper save file");
+        short version = buffer.getShort();
+        if (version != VERSION)
+            throw new IOException("Unsupported save file version " + version);
+
+        int flags = buffer.get();
+        int rows = buffer.getInt();
+        int cols = buffer.getInt();
+        int numBombs = buffer.getInt();
+        long elapsedMillis = buffer.getLong();
+        int numMines = buffer.getInt();
+        int numFlagged = buffer.getInt();
+        int numRevealed = buffer.getInt();
+        int nameLength = buffer.getShort();
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE - 63 || nameLength < 0
+                || buffer.remaining() < nameLength)
+            throw new IOException("Corrupt save file header");
+        byte[] name = new byte[nameLength];
+        buffer.get(name);
+
+        BoardState state = null;
+        if ((flags & GENERATED) != 0) {
+            int cells = rows * cols;
+            if (buffer.remaining() < mineBytes(cells) + statusBytes(cells))
+                throw new IOException("Save file is truncated");
+
+            state = new BoardState(rows, cols);
+            for (int word = 0; word < mineBytes(cells) / 8; word++)
+                state.setMineWord(word, buffer.getLong());
+            for (int cell = 0; cell < cells; cell += 4) {
+                int packed = buffer.get();
+                for (int i = 0; i < 4 && cell + i < cells; i++)
+                    state.setStatus(cell + i, (byte) ((packed >> (2 * i)) & 3));
+            }
+            state.computeMineCounts(new HexGrid(rows, cols));
+
+            if (state.getNumMines() != numMines || state.getNumFlagged() != numFlagged
+                    || state.getNumRevealed() != numRevealed)
+                throw new IOException("Save file does not match its counters");
+        }
+
+        return new SavedGame(new String(name, StandardCharsets.UTF_8), rows, cols, numBombs, elapsedMillis,
+                (flags & GAME_OVER) != 0, (flags & WIN) != 0, state);
+    }
+
+    /**
+     * Writes this game to a file, replacing anything already in it.
+     * The file only ever holds the old game or the whole new one, even if the program dies partway through.
+     * @param f The file to save into.
+     * @throws IOException If writing the file fails.
+     */
+    public void write(File f) throws IOException {
+        write(f, true);
+    }
+
+    /**
+     * Writes this game to a file, replacing anything already in it, as write(File) does.
+     * @param f The file to save into.
+     * @param sync Whether to wait for the file to reach the disk, as in write(ByteBuffer, Path, boolean).
+     * @throws IOException If writing the file fails.
+     */
+    public void write(File f, boolean sync) throws IOException {
+        write(encode(), f.toPath(), sync);
+    }
+
+    /**
+     * Writes an encoded game to a file by writing it to a temporary file next to it,
+     * then renaming that over the file. Since the rename is atomic, a crash partway through
+     * leaves the old file as it was rather than half overwritten. Every write gets a temporary file of its own,
+     * so two programs saving to the same file can't write into or delete each other's.
+     *
+     * @param buffer The encoded game, which is read to its end.
+     * @param path The file to save into.
+     * @param sync Whether to wait for the new file to reach the disk before renaming it,
+     *             so that the save also survives the whole system going down.
+     * @throws IOException If writing or renaming the file fails.
+     */
+    public static void write(ByteBuffer buffer, Path path, boolean sync) throws IOException {
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining())
+                    channel.write(buffer);
+                if (sync)
+                    channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp); // only ever the file made above, which nobody else knows about
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a game from a file.
+     * @param f The file to load from.
+     * @return The saved game.
+     * @throws IOException If reading the file fails or it is not a valid saved game.
+     */
+    public static SavedGame read(File f) throws IOException {
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Save file is too large");
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0);
+            return decode(buffer.flip());
+        }
+    }
+
+    /**
+     * Gets the number of bytes used to store the mines of a board.
+     * @param cells The number of tiles on the board.
+     * @return The size of the mine bitset, in bytes.
+     */
+    private static int mineBytes(int cells) {
+        return (cells + 63) / 64 * 8;
+    }
+
+    /**
+     * Gets the number of bytes used to store the statuses of a board.
+     * @param cells The number of tiles on the board.
+     * @return The size of the packed statuses, in bytes.
+     */
+    private static int statusBytes(int cells) {
+        return (cells + 3) / 4;
+    }
+
+    // GETTERS
+
+    /**
+     * @return The difficulty of the saved game.
+     */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @return The number of rows in the saved board.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The number of columns in the saved board.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return The number of bombs shown to the player.
+     */
+    public int getNumBombs() {
+        return numBombs;
+    }
+
+    /**
+     * @return The time spent on the saved game, in milliseconds.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return true if the saved game had ended.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * @return true if the player of the saved game won, or had not lost yet.
+     */
+    public boolean isWin() {
+        return win;
+    }
+
+    /**
+     * @return The state of every tile, or null if the mines had not been placed yet.
+     */
+    public BoardState getState() {
+        return state;
+    }
+}
@@ -0,0 +1,255 @@
+package Models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class stores a scoreboard for Minesweeper, which tracks the best times for each difficulty.
+ *
+ * It loads its information from a text file ("scores.txt") by default, which is stored in the directory the game is run from,
+ * or wherever the "hexsweeper.scores" system property points.
+ * The five best times for each difficulty are stored by default.
+ * Each scoreboard keeps its own copy of the times, so separate games never see each other's half-finished updates.
+ *
+ * The times are ranked by a Leaderboard, which can also say how a time compares to every other one.
+ *
+ * The file is a log with one "time difficulty" line for every time saved, which is only ever appended to.
+ * Once it holds enough lines, it is compacted down to the best times for each difficulty, along with
+ * "# bucket count difficulty" lines holding the Leaderboard's histogram of all the others, by writing them to a
+ * temporary file and renaming that over it. Every write holds a lock on a ".lock" file next to it, so several
+ * games, or several copies of the program, can save times at once without losing any of them.
+ */
+public class ScoreBoard {
+
+    private static final int NUM_TOP_TIMES = 5;
+    /**
+     * The system property naming the default scores file, which is read each time a default scoreboard is made.
+     */
+    private static final String FILE_PROPERTY = "hexsweeper.scores";
+    private static final String DEFAULT_FILE = "scores.txt";
+    /**
+     * How many lines with a single time the log may hold before it is compacted.
+     */
+    static final int COMPACT_AFTER = 256;
+    /**
+     * The log for each file, shared by every scoreboard in the program that saves to it,
+     * since a file lock can't be held twice by the same program.
+     */
+    private static final Map<Path, ScoreLog> logs = new ConcurrentHashMap<>();
+
+    private final Leaderboard leaderboard = new Leaderboard(NUM_TOP_TIMES);
+    private final ScoreLog log;
+
+    /**
+     * Loads a scoreboard from the default file if applicable, allocating NUM_TOP_TIMES slots to each difficulty.
+     * The file is scores.txt, unless the hexsweeper.scores property names another one.
+     */
+    public ScoreBoard() {
+        this(Path.of(System.getProperty(FILE_PROPERTY, DEFAULT_FILE)));
+    }
+
+    /**
+     * Loads a scoreboard from a file if it exists, allocating NUM_TOP_TIMES slots to each difficulty.
+     * @param file The file to read the times from, and to save new ones to.
+     */
+    public ScoreBoard(Path file) {
+        this(logs.computeIfAbsent(file.toAbsolutePath().normalize(), ScoreLog::new));
+
+        // populate top times with saves from file
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            int times = 0;
+            for (String line : lines)
+                if (parse(line, this))
+                    times++;
+            log.records.set(times);
+        } catch (IOException ignored) {} // most likely there is no file yet, which is the same as having no scores
+    }
+
+    /**
+     * Creates an empty scoreboard.
+     * @param log The log to save times to, or null if they are never saved.
+     */
+    private ScoreBoard(ScoreLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Registers a time on the scoreboard and updates the file if needed.
+     * Every time is saved, not only the best ones, so that the file can rebuild the whole histogram.
+     *
+     * @param time The successful game's time, expressed in seconds.
+     * @param difficulty The successful game's difficulty, or the Leaderboard.key of a custom board.
+     * @param saving Whether to save the time to the scoreboard file.
+     */
+    public void addNewTime(double time, String difficulty, boolean saving) {
+        if (!(time > 0))
+            return; // not a time a game could have taken
+        leaderboard.submit(difficulty, time);
+        if (saving && log != null)
+            log.append(time + " " + difficulty + "\n");
+    }
+
+    /**
+     * Reads one line of the log into a scoreboard, skipping any that are cut off or mangled.
+     * @param line The line, holding either a time and a difficulty, or a bucket of the histogram.
+     * @param board The scoreboard to add it to.
+     * @return true if the line held a single time, which are the lines that compacting gets rid of.
+     */
+    private static boolean parse(String line, ScoreBoard board) {
+        try {
+            if (line.startsWith("# ")) {
+                String[] words = line.split(" ", 4);
+                if (words.length == 4)
+                    board.leaderboard.addToBucket(words[3], Integer.parseInt(words[1]), Long.parseLong(words[2]));
+                return false;
+            }
+            int space = line.indexOf(' ');
+            if (space > 0)
+                board.leaderboard.submit(line.substring(space + 1), Double.parseDouble(line.substring(0, space)));
+            return true;
+        } catch (NumberFormatException ignored) { // a line only partly written by a crashed game
+            return true;
+        }
+    }
+
+    /**
+     * This returns the top times for the current game difficulty
+     * @param difficulty - the difficulty which we use to filter the top times by
+     * @return - a list of times for only the given difficulty, fastest first, with null for any empty slots
+     */
+    public Double[] getTopTimes(String difficulty) {
+        Double[] result = new Double[NUM_TOP_TIMES];
+        double[] times = leaderboard.getTopTimes(difficulty);
+        for (int i = 0; i < times.length; i++)
+            result[i] = times[i];
+        return result;
+    }
+
+    /**
+     * Works out how a time compares to every time on the scoreboard for its difficulty
+     * @param time - the time, in seconds
+     * @param difficulty - the difficulty the time was for
+     * @return - the percentage of times that were as fast or faster, or NaN if there are none yet
+     */
+    public double getPercentile(double time, String difficulty) {
+        return leaderboard.getPercentile(difficulty, time);
+    }
+
+    /**
+     * Gets the leaderboard ranking this scoreboard's times
+     * @return - the Leaderboard, which also answers questions like the median time
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * This appends the times saved by every scoreboard using one file, and compacts the file now and then.
+     *
+     * Times waiting to be written go into a queue, and whichever thread finds nobody else writing
+     * appends everything in it at once, so threads saving at the same time never wait on each other.
+     */
+    private static final class ScoreLog {
+        final Path file, lockFile, tempFile;
+        final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean writing = new AtomicBoolean();
+        final AtomicInteger records = new AtomicInteger(); // about how many single times the file holds
+
+        ScoreLog(Path file) {
+            this.file = file;
+            this.lockFile = file.resolveSibling(file.getFileName() + ".lock");
+            this.tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        }
+
+        /**
+         * Adds a line to the log. It is written right away unless another thread is already writing,
+         * in which case that thread writes it before it stops.
+         * @param line The line to add, ending with a newline.
+         */
+        void append(String line) {
+            pending.add(line);
+            // checking the queue again after letting go makes sure nothing added meanwhile gets left behind
+            while (!pending.isEmpty() && writing.compareAndSet(false, true)) {
+                try {
+                    if (!writePending())
+                        return; // leave the lines queued for the next time something is saved
+                } finally {
+                    writing.set(false);
+                }
+            }
+        }
+
+        /**
+         * Appends every queued line to the file while holding its lock, compacting it afterwards if it has grown enough.
+         * @return false if the file could not be written, in which case the lines are queued again.
+         */
+        private boolean writePending() {
+            List<String> batch = new ArrayList<>();
+            for (String line; (line = pending.poll()) != null; )
+                batch.add(line);
+            try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = lockChannel.lock()) {
+                assert lock.isValid(); // held until the end of this block
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    ByteBuffer buffer = StandardCharsets.UTF_8.encode(String.join("", batch));
+                    while (buffer.hasRemaining())
+                        channel.write(buffer);
+                }
+                if (records.addAndGet(batch.size()) > COMPACT_AFTER)
+                    compact();
+                return true;
+            } catch (IOException e) {
+                pending.addAll(batch);
+                return false;
+            }
+        }
+
+        /**
+         * Rewrites the file with only the best times for each difficulty, and the histogram of the rest.
+         * This has to be called holding the lock, and reads the file again first, since other programs may have added to it.
+         */
+        private void compact() throws IOException {
+            ScoreBoard all = new ScoreBoard((ScoreLog) null); // only used to rank the times
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8))
+                parse(line, all);
+
+            Leaderboard ranked = all.leaderboard;
+            StringBuilder out = new StringBuilder();
+            int times = 0;
+            for (String difficulty : ranked.getKeys()) {
+                long[] rest = new long[Leaderboard.getNumBuckets()];
+                for (int bucket = 0; bucket < rest.length; bucket++)
+                    rest[bucket] = ranked.getBucketCount(difficulty, bucket);
+                for (double time : ranked.getTopTimes(difficulty)) {
+                    out.append(time).append(' ').append(difficulty).append('\n');
+                    rest[Leaderboard.bucketOf(time)]--; // it comes back in with its own line
+                    times++;
+                }
+                for (int bucket = 0; bucket < rest.length; bucket++)
+                    if (rest[bucket] > 0) {
+                        out.append("# ").append(bucket).append(' ').append(rest[bucket]).append(' ')
+                                .append(difficulty).append('\n');
+                    }
+            }
+            Files.writeString(tempFile, out, StandardCharsets.UTF_8);
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            records.set(times);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package Models;
+
+import java.util.Arrays;
+
+/**
+ * This class works out which unrevealed tiles are certainly safe and which are certainly mines, from only what
+ * the player can see: the numbers on the revealed tiles and the total number of mines. It is used for hints,
+ * and to check that a board can be won without guessing.
+ *
+ * Each revealed number with unknown tiles around it is a constraint: so many mines among these tiles.
+ * The solver first applies the two basic rules to every constraint on its own (no mines left means the rest are
+ * safe, and as many mines as tiles means they are all mines), then compares every pair of constraints that share
+ * tiles. If B needs as many more mines than A as B has tiles A doesn't, those tiles are all mines and A's other
+ * tiles are all safe, which covers the usual subset reasoning. Last of all it checks the number of mines left over.
+ * Every deduction feeds back into the constraints, so it keeps going until nothing new turns up.
+ *
+ * The tiles a constraint covers are kept as bits of a single long: a 7 by 7 frame of rows and columns around its
+ * tile, of which a tile's neighbours only use the middle 3 by 3. Two constraints close enough to share a tile
+ * are at most two rows and columns apart, so shifting one by the distance between them lines it up with the other,
+ * and comparing them is a few bitwise operations and bit counts. What is known about the whole board is kept in
+ * bitboards of one bit per tile, so none of this depends on the size of the board.
+ *
+ * Flagged tiles are treated as unknown, since the player's flags might be wrong.
+ */
+public class Solver {
+
+    private static final int FRAME = 7;
+    private static final int CENTER = 3 * FRAME + 3;
+
+    private final HexGrid grid;
+    private final int[] neighbors = new int[HexGrid.NEIGHBORS];
+    // one bit per tile of the board
+    private final long[] unknown, safe, mines;
+    private int numSafe, numMines;
+
+    // the constraints found in the current pass, and which tile each one belongs to
+    private int numConstraints;
+    private int[] constraintCells = new int[64];
+    private long[] constraintMasks = new long[64];
+    private int[] constraintMines = new int[64];
+    private final int[] constraintAt;
+    // the revealed numbers that still have unknown tiles around them
+    private int[] numbered = new int[64];
+    private int numNumbered;
+
+    /**
+     * Creates a solver for boards of one size. It can be used for any number of them, one after another.
+     * @param grid The grid describing the board's shape.
+     */
+    public Solver(HexGrid grid) {
+        this.grid = grid;
+        int words = (grid.size() + 63) >>> 6;
+        unknown = new long[words];
+        safe = new long[words];
+        mines = new long[words];
+        constraintAt = new int[grid.size()];
+        Arrays.fill(constraintAt, -1);
+    }
+
+    /**
+     * Works out everything that can be known for certain about a board, as the player sees it.
+     * The results can then be read with isSafe, isMine and getHint.
+     *
+     * @param state The board, of the size the solver was made for. Only the statuses of the tiles,
+     *              the numbers of revealed tiles and the total number of mines are looked at.
+     * @return true if anything was found, safe or mine.
+     */
+    public boolean solve(BoardState state) {
+        Arrays.fill(unknown, 0);
+        Arrays.fill(safe, 0);
+        Arrays.fill(mines, 0);
+        numSafe = numMines = 0;
+
+        int numUnknown = 0;
+        numNumbered = 0;
+        for (int cell = 0; cell < grid.size(); cell++) {
+            byte status = state.getStatus(cell);
+            if (status == BoardState.UNGUESSED || status == BoardState.FLAGGED) {
+                unknown[cell >>> 6] |= 1L << cell;
+                numUnknown++;
+            } else if (status == BoardState.GUESSED && state.getMineCount(cell) > 0) {
+                if (numNumbered == numbered.length)
+                    numbered = Arrays.copyOf(numbered, numbered.length * 2);
+                numbered[numNumbered++] = cell;
+            }
+        }
+
+        boolean progress = true;
+        while (progress) {
+            findConstraints(state);
+            progress = applyBasicRules();
+            if (!progress)
+                progress = comparePairs();
+            if (!progress)
+                progress = countRemaining(state.getNumMines(), numUnknown);
+        }
+        for (int i = 0; i < numConstraints; i++)
+            constraintAt[constraintCells[i]] = -1;
+        return numSafe + numMines > 0;
+    }
+
+    /**
+     * Builds a constraint for every revealed number that still has undecided tiles around it,
+     * leaving out the tiles already worked out and the mines among them.
+     * Numbers with nothing left to decide are dropped from the list for the next pass.
+     */
+    private void findConstraints(BoardState state) {
+        for (int i = 0; i < numConstraints; i++)
+            constraintAt[constraintCells[i]] = -1;
+        numConstraints = 0;
+
+        int kept = 0;
+        for (int n = 0; n < numNumbered; n++) {
+            int cell = numbered[n];
+            int row = grid.rowOf(cell), col = grid.colOf(cell);
+            int count = grid.neighbors(cell, neighbors);
+            long mask = 0;
+            int minesLeft = state.getMineCount(cell);
+            for (int i = 0; i < count; i++) {
+                int neighbor = neighbors[i];
+                if (get(mines, neighbor))
+                    minesLeft--;
+                else if (get(unknown, neighbor) && !get(safe, neighbor))
+                    mask |= 1L << (CENTER + (grid.rowOf(neighbor) - row) * FRAME + grid.colOf(neighbor) - col);
+            }
+            if (mask == 0)
+                continue; // everything around it is decided, now and for good
+            numbered[kept++] = cell;
+
+            if (numConstraints == constraintCells.length) {
+                constraintCells = Arrays.copyOf(constraintCells, numConstraints * 2);
+                constraintMasks = Arrays.copyOf(constraintMasks, numConstraints * 2);
+                constraintMines = Arrays.copyOf(constraintMines, numConstraints * 2);
+            }
+            constraintCells[numConstraints] = cell;
+            constraintMasks[numConstraints] = mask;
+            constraintMines[numConstraints] = minesLeft;
+            constraintAt[cell] = numConstraints++;
+        }
+        numNumbered = kept;
+    }
+
+    /**
+     * Applies the two basic rules to each constraint on its own.
+     * @return true if anything new was found.
+     */
+    private boolean applyBasicRules() {
+        boolean progress = false;
+        for (int i = 0; i < numConstraints; i++) {
+            long mask = constraintMasks[i];
+            if (constraintMines[i] == 0)
+                progress |= markAll(constraintCells[i], mask, false);
+            else if (constraintMines[i] == Long.bitCount(mask))
+                progress |= markAll(constraintCells[i], mask, true);
+        }
+        return progress;
+    }
+
+    /**
+     * Compares every constraint with those near enough to share a tile with it, in both directions.
+     * @return true if anything new was found.
+     */
+    private boolean comparePairs() {
+        boolean progress = false;
+        for (int a = 0; a < numConstraints; a++) {
+            int cellA = constraintCells[a];
+            int row = grid.rowOf(cellA), col = grid.colOf(cellA);
+            for (int dr = 0; dr <= 2; dr++) {
+                if (row + dr >= grid.getRows()) break;
+                for (int dc = -2; dc <= 2; dc++) {
+                    if (dr == 0 && dc <= 0) continue; // each pair only once
+                    if (col + dc < 0 || col + dc >= grid.getCols()) continue;
+                    int b = constraintAt[grid.index(row + dr, col + dc)];
+                    if (b < 0) continue;
+
+                    long maskA = constraintMasks[a];
+                    long maskB = constraintMasks[b] << (dr * FRAME + dc); // B in A's frame, always further along
+                    if ((maskA & maskB) == 0) continue;
+
+                    progress |= compare(cellA, maskA, constraintMines[a], maskB, constraintMines[b]);
+                    progress |= compare(cellA, maskB, constraintMines[b], maskA, constraintMines[a]);
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Compares two constraints, written in the same frame. If the second needs as many more mines than the first
+     * as it has tiles of its own, then those tiles are all mines, which accounts for every mine the first has
+     * left in the tiles they share, so the first's own tiles are all safe.
+     *
+     * @param cell The tile at the middle of the frame.
+     * @param maskA The first constraint's tiles.
+     * @param minesA The number of mines among them.
+     * @param maskB The second constraint's tiles.
+     * @param minesB The number of mines among them.
+     * @return true if anything new was found.
+     */
+    private boolean compare(int cell, long maskA, int minesA, long maskB, int minesB) {
+        long onlyB = maskB & ~maskA;
+        if (minesB - minesA != Long.bitCount(onlyB))
+            return false;
+        boolean progress = markAll(cell, onlyB, true);
+        progress |= markAll(cell, maskA & ~maskB, false);
+        return progress;
+    }
+
+    /**
+     * Checks the total number of mines against what is left undecided: if every mine is accounted for,
+     * the rest are safe, and if there are as many mines left as undecided tiles, they are all mines.
+     * @return true if anything new was found.
+     */
+    private boolean countRemaining(int totalMines, int numUnknown) {
+        int undecided = numUnknown - numSafe - numMines;
+        int minesLeft = totalMines - numMines;
+        if (undecided == 0 || (minesLeft != 0 && minesLeft != undecided))
+            return false;
+        for (int word = 0; word < unknown.length; word++) {
+            long open = unknown[word] & ~safe[word] & ~mines[word];
+            if (minesLeft == 0) {
+                safe[word] |= open;
+                numSafe += Long.bitCount(open);
+            } else {
+                mines[word] |= open;
+                numMines += Long.bitCount(open);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks every tile in a frame as safe or as a mine.
+     * @param cell The tile at the middle of the frame.
+     * @param mask The tiles to mark, as bits of the frame.
+     * @param mine true to mark them as mines, false to mark them as safe.
+     * @return true if any of them were not marked already.
+     */
+    private boolean markAll(int cell, long mask, boolean mine) {
+        boolean changed = false;
+        for (; mask != 0; mask &= mask - 1) {
+            int bit = Long.numberOfTrailingZeros(mask);
+            int target = cell + (bit / FRAME - 3) * grid.getCols() + bit % FRAME - 3;
+            if (get(safe, target) || get(mines, target))
+                continue;
+            if (mine) {
+                mines[target >>> 6] |= 1L << target;
+                numMines++;
+            } else {
+                safe[target >>> 6] |= 1L << target;
+                numSafe++;
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    private static boolean get(long[] board, int cell) {
+        return (board[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    // GETTERS
+
+    /**
+     * @param cell The index of a tile.
+     * @return true if the last board solved has the tile unrevealed, and it is certainly safe.
+     */
+    public boolean isSafe(int cell) {
+        return get(safe, cell);
+    }
+
+    /**
+     * @param cell The index of a tile.
+     * @return true if the last board solved has the tile unrevealed, and it is certainly a mine.
+     */
+    public boolean isMine(int cell) {
+        return get(mines, cell);
+    }
+
+    /**
+     * Picks a tile to suggest to the player: a safe tile that isn't flagged, if there is one.
+     * @param state The board that was last solved.
+     * @return The index of the tile, or -1 if nothing is certainly safe.
+     */
+    public int getHint(BoardState state) {
+        for (int word = 0; word < safe.length; word++)
+            for (long bits = safe[word]; bits != 0; bits &= bits - 1) {
+                int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (state.getStatus(cell) == BoardState.UNGUESSED)
+                    return cell;
+            }
+        return -1;
+    }
+
+    /**
+     * @return The number of unrevealed tiles found to be safe in the last board solved.
+     */
+    public int getNumSafe() {
+        return numSafe;
+    }
+
+    /**
+     * @return The number of unrevealed tiles found to be mines in the last board solved.
+     */
+    public int getNumMines() {
+        return numMines;
+    }
+
+    /**
+     * @return The grid of the boards this solver works on.
+     */
+    public HexGrid getGrid() {
+        return grid;
+    }
+}
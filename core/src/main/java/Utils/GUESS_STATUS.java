@@ -0,0 +1,55 @@
+package Utils;
+
+/**
+ * @author Bennett Brixen
+ *
+ * This enum represents the current status of a single position on the board.
+ * It can be UNGUESSED, for tiles that have not been revealed;
+ * GUESSED, for tiles that have been revealed and are to display either a number of adjacent bombs or a zero (blank);
+ * FLAGGED, for tiles that have been flagged;
+ * or BOMB, for tiles with a revealed bomb (bombs are only revealed at the end of the game).
+ *
+ * Each status also has a one-byte code, which is how a packed board stores it (see BoardState),
+ * so converting between the two never needs to allocate or search.
+ *
+ * The colors used to display each status are up to the view, so this enum can be used without JavaFX.
+ */
+public enum GUESS_STATUS {
+	
+    UNGUESSED((byte) 0),
+    GUESSED((byte) 1),
+    FLAGGED((byte) 2),
+    BOMB((byte) 3);
+
+    // values() copies the array every call, so we keep our own to look statuses up by their code
+    private static final GUESS_STATUS[] BY_CODE = values();
+
+    private final byte code;
+
+    /**
+     * Creates a GUESS_STATUS.
+     *
+     * @param code The byte used to store this status in a packed board, which is also its index in BY_CODE.
+     */
+    GUESS_STATUS(byte code) {
+        this.code = code;
+    }
+
+    /**
+     * @return The byte used to store this status in a packed board.
+     */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Finds the status stored as a byte in a packed board.
+     *
+     * @param code The byte code of the status, from 0 to 3.
+     * @return The status with that code.
+     * @throws ArrayIndexOutOfBoundsException If the code does not belong to any status.
+     */
+    public static GUESS_STATUS fromCode(byte code) {
+        return BY_CODE[code];
+    }
+}
@@ -0,0 +1,1045 @@
+package Utils;
+
+import Models.AutoSaver;
+import Models.BoardChanges;
+import Models.BoardState;
+import Models.Difficulty;
+import Models.GameEngine;
+import Models.HexGrid;
+import Models.Leaderboard;
+import Models.MineSweeperBoard;
+import Models.MoveLog;
+import Models.NoGuessGenerator;
+import Models.ProbabilityEngine;
+import Models.SavedGame;
+import Models.Solver;
+import Models.ScoreBoard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import Controllers.MineSweeperController;
+import Models.MineSweeperTile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static Utils.GUESS_STATUS.*;
+
+
+public class Tests {
+
+	@BeforeAll
+	static void useTemporaryScores() throws IOException {
+		// games won by the tests would otherwise fill up the real scores file, run after run
+		Path scores = Files.createTempFile("scores", ".txt");
+		scores.toFile().deleteOnExit();
+		Path.of(scores + ".lock").toFile().deleteOnExit();
+		System.setProperty("hexsweeper.scores", scores.toString());
+	}
+
+	@Test
+	void testBoardNormal() {
+		MineSweeperController controller = new MineSweeperController("Normal");
+		assert(controller.getCols() == 24);
+		assert(controller.getRows() == 16);
+		MineSweeperTile[][] board = controller.getBoard();
+		for (MineSweeperTile[] tiles : board) {
+			for (MineSweeperTile tile : tiles) {
+				Assertions.assertNull(tile);
+			}
+		}
+	}
+
+	@Test
+	void testBoardVeryEasy() {
+		MineSweeperController controller = new MineSweeperController("Very Easy");
+		Assertions.assertEquals(controller.getCols(),16);
+		Assertions.assertEquals(controller.getRows(), 16);
+		MineSweeperTile[][] board = controller.getBoard();
+		for (MineSweeperTile[] tiles : board) {
+			for (MineSweeperTile tile : tiles) {
+				Assertions.assertNull(tile);
+			}
+		}
+	}
+
+	@Test
+	void testBoardHard() {
+		MineSweeperController controller = new MineSweeperController("Hard");
+		Assertions.assertEquals(controller.getCols(), 24);
+		Assertions.assertEquals(controller.getRows(), 20);
+		MineSweeperTile[][] board = controller.getBoard();
+		for (MineSweeperTile[] tiles : board) {
+			for (MineSweeperTile tile : tiles) {
+				Assertions.assertNull(tile);
+			}
+		}
+	}
+
+	@Test
+	void testBoardVeryHard() {
+		MineSweeperController controller = new MineSweeperController("Very Hard");
+		Assertions.assertEquals(controller.getCols(), 30);
+		Assertions.assertEquals(controller.getRows(), 24);
+		MineSweeperTile[][] board = controller.getBoard();
+		for (MineSweeperTile[] tiles : board) {
+			for (MineSweeperTile tile : tiles) {
+				Assertions.assertNull(tile);
+			}
+		}
+	}
+
+	@Test
+	void testBoardInitialization() {
+		MineSweeperController controller = new MineSweeperController("Normal");
+		Assertions.assertEquals(controller.getCols(), 24);
+		Assertions.assertEquals(controller.getRows(), 16);
+		MineSweeperTile[][] board = controller.getBoard();
+		controller.updateTileStatus(0, 0, GUESSED);
+		for (MineSweeperTile[] tiles : board) {
+			for (MineSweeperTile tile : tiles) {
+				Assertions.assertNotEquals(tile.getStatus(), GUESS_STATUS.BOMB);
+			}
+		}
+	}
+
+	@Test
+	void testBombCount() {
+		MineSweeperController controller = new MineSweeperController("Normal");
+		Assertions.assertEquals(controller.getCols(), 24);
+		Assertions.assertEquals(controller.getRows(), 16);
+		MineSweeperTile[][] board = controller.getBoard();
+		controller.updateTileStatus(0, 0, GUESSED);
+		int numBombs = 0;
+		for (MineSweeperTile[] tiles : board) {
+			for (MineSweeperTile tile : tiles) {
+				if (tile.isBomb()) {
+					numBombs++;
+				}
+			}
+		}
+		assert (numBombs == controller.getBombCount());
+	}
+
+	@Test
+	void testTile() {
+		MineSweeperTile tile = new MineSweeperTile(0, 0, UNGUESSED);
+		tile.setBomb();
+		Assertions.assertTrue(tile.isBomb());
+		tile.setStatus(FLAGGED);
+		Assertions.assertSame(tile.getStatus(), FLAGGED);
+	}
+	@Test
+	void testPausing() {
+		MineSweeperController controller = new MineSweeperController("Normal");
+		controller.disableTimer();
+		assert(controller.isGamePaused());
+		controller.enableTimer();
+		assert(!controller.isGamePaused());
+
+	}
+
+	@Test
+	void testTimerCreation() throws InterruptedException {
+		// the timer should only start once the first tile is clicked
+		MineSweeperController controller = new MineSweeperController("Easy");
+		Assertions.assertEquals(20, controller.getCols());
+		Assertions.assertEquals(controller.getRows(), 16);
+		controller.enableTimer();
+		Thread.sleep(10);
+		Assertions.assertEquals(0.0, controller.getSecondsElapsed());
+
+		controller.updateTileStatus(8, 8, GUESSED);
+		Thread.sleep(10);
+		Assertions.assertTrue(controller.getSecondsElapsed() > 0.0);
+
+	}
+
+	int SEED = 57;
+	@Test
+	void testNumberTiles() {
+		// this will check that the number of tiles generated is what we expect
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Normal");
+		controller.seedBoardGeneration(0, 0, random);
+		MineSweeperTile[][] board = controller.getBoard();
+
+		// inset by 2 because i dont want to deal with out of bounds checking
+		for (int row = 2; row < controller.getRows()-2; row ++) {
+			for (int col = 2; col < controller.getCols()-2; col ++) {
+				MineSweeperTile tile = board[row][col];
+				if (tile == null) continue;
+				int numExpected = tile.getMineCount();
+				int actual = 0;
+
+				for (int[] coord : tile.getAdjacentTiles()) {
+					int r = coord[0];
+					int c = coord[1];
+					if (board[r][c] != null && board[r][c].isBomb()) actual ++;
+				}
+
+				Assertions.assertEquals(numExpected, actual);
+			}
+		}
+	}
+
+	@Test
+	void testScoreBoard() {
+		MineSweeperController controller = new MineSweeperController("Very Easy");
+		ScoreBoard board = controller.getScoreBoard();
+		board.addNewTime(5.75, "Very Easy", true);
+
+		Double[] times = board.getTopTimes("Very Easy");
+		boolean contains = false;
+		for (Double time : times)
+			if (time == 5.75) {
+				contains = true;
+				break;
+			}
+
+		Assertions.assertTrue(contains);
+	}
+
+	@Test
+	void testNumberFlags() {
+		// this will check that the number of flags we place
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Normal");
+		controller.seedBoardGeneration(0, 0, random);
+		controller.updateTileStatus(4, 4, FLAGGED);
+		controller.updateTileStatus(3, 6, FLAGGED);
+		controller.updateTileStatus(2, 2, FLAGGED);
+		Assertions.assertEquals(controller.getMineCount(), "3 / 76");
+	}
+
+	@Test
+	void testSecondsElapsed() throws InterruptedException {
+		// make sure time increases correctly, and that reading it does not change it
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Normal");
+		Assertions.assertEquals(0.0, controller.getSecondsElapsed()); // not started before the first click
+		controller.seedBoardGeneration(0, 0, random);
+
+		controller.enableTimer();
+		Thread.sleep(20);
+		double first = controller.getSecondsElapsed();
+		double second = controller.getSecondsElapsed();
+		Assertions.assertTrue(first >= 0.02);
+		Assertions.assertTrue(second >= first);
+
+		// the time should stay put while paused
+		controller.disableTimer();
+		double paused = controller.getSecondsElapsed();
+		Thread.sleep(20);
+		Assertions.assertEquals(paused, controller.getSecondsElapsed());
+		controller.enableTimer();
+		Assertions.assertTrue(controller.getSecondsElapsed() < paused + 0.02);
+		Assertions.assertFalse(controller.isGameOver());
+
+	}
+
+	@Test
+	void testClickTileAndLose() {
+		// tests the different outcomes that we expect when clicking on a tile
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Normal");
+		controller.seedBoardGeneration(0, 0, random);
+
+		MineSweeperTile[][] board = controller.getBoard();
+		boolean canClickBomb = false; // we set this to true so we can end the game and test losing conditions
+		boolean clickedBomb = false;
+
+		// inset by 2 because i dont want to deal with out of bounds checking
+		for (int row = 2; row < controller.getRows()-2; row ++) {
+			for (int col = 2; col < controller.getCols()-2; col ++) {
+				MineSweeperTile tile = board[row][col];
+				if (tile == null) continue;
+
+				if (canClickBomb && board[row][col].isBomb()) {
+					controller.updateTileStatus(row, col, GUESSED);
+					Assertions.assertTrue(controller.isGameOver());
+					Assertions.assertFalse(controller.win());
+					clickedBomb = true;
+
+				} else if (board[row][col].getStatus() == UNGUESSED) {
+					controller.updateTileStatus(row, col, FLAGGED);
+					Assertions.assertTrue(board[row][col].getStatus() == UNGUESSED
+							|| board[row][col].getStatus() == FLAGGED);
+
+					controller.updateTileStatus(row, col, FLAGGED);
+					Assertions.assertEquals(UNGUESSED, board[row][col].getStatus());
+					canClickBomb = true;
+				}
+			}
+		}
+
+		Assertions.assertTrue(canClickBomb);
+		Assertions.assertTrue(clickedBomb);
+	}
+
+	@Test
+	void testSaveLoad() throws IOException {
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Normal");
+		controller.seedBoardGeneration(0, 0, random);
+		controller.updateTileStatus(4, 4, FLAGGED);
+		controller.updateTileStatus(3, 6, FLAGGED);
+		controller.updateTileStatus(2, 2, FLAGGED);
+		Assertions.assertEquals(controller.getMineCount(), "3 / 76");
+
+		File testFile = new File("TESTING_FILE.txt");
+		controller.saveGame(testFile);
+
+		MineSweeperController controller2 = new MineSweeperController(testFile);
+		controller2.enableTimer();
+
+		MineSweeperTile[][] board = controller.getBoard();
+		MineSweeperTile[][] board2 = controller2.getBoard();
+
+		for (int row = 0; row < controller.getRows(); row ++) {
+			for (int col = 0; col < controller.getCols(); col ++) {
+				// if EVERY tile has the same status, then everything must be equal
+				Assertions.assertEquals(board[row][col].getStatus(), board2[row][col].getStatus());
+			}
+		}
+	}
+
+	@Test
+	void testUpdateTilesAround() {
+		// try the double click ability
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Normal");
+		controller.seedBoardGeneration(0, 0, random);
+		MineSweeperTile[][] board = controller.getBoard();
+		// 1, 10 has only 1 bomb around it at 1, 9
+
+		MineSweeperTile tile = board[1][10];
+		Assertions.assertFalse(tile.isBomb());
+		Assertions.assertTrue(board[1][9].isBomb());
+
+		// all around should be unguessed, exce
+		for (int[] coords : tile.getAdjacentTiles()) {
+			int row = coords[0];
+			int col = coords[1];
+			Assertions.assertEquals(board[row][col].getStatus(), UNGUESSED);
+		}
+
+		// double click
+		controller.updateTileStatus(1, 9, FLAGGED);
+		controller.updateTilesAround(1, 10);
+
+		// now all the sourrounding should be guessed
+		for (int[] coords : tile.getAdjacentTiles()) {
+			int row = coords[0];
+			int col = coords[1];
+			if (row == 1 && col == 9) {
+				Assertions.assertEquals(board[row][col].getStatus(), FLAGGED);
+			} else {
+				Assertions.assertEquals(board[row][col].getStatus(), GUESSED);
+			}
+		}
+	}
+
+	@Test
+	void testBoardChanges() {
+		// only the tiles that changed should be passed along to the observer
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Normal");
+		controller.seedBoardGeneration(0, 0, random);
+		ArrayList<Integer> changedRows = new ArrayList<>();
+		ArrayList<Integer> changedCols = new ArrayList<>();
+		controller.setObserver((o, arg) -> {
+			BoardChanges changes = (BoardChanges) arg;
+			for (int i = 0; i < changes.size(); i++) {
+				changedRows.add(changes.getRow(i));
+				changedCols.add(changes.getCol(i));
+			}
+		});
+
+		controller.updateTileStatus(4, 4, FLAGGED);
+		Assertions.assertEquals(1, changedRows.size());
+		Assertions.assertEquals(4, changedRows.get(0));
+		Assertions.assertEquals(4, changedCols.get(0));
+
+		// changes are forgotten after every notification
+		controller.updateTileStatus(4, 4, FLAGGED);
+		Assertions.assertEquals(2, changedRows.size());
+	}
+
+	@Test
+	void testRevealZeroRegion() {
+		// clicking the starting tile should reveal its whole zero region with one notification
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Very Easy");
+		controller.seedBoardGeneration(8, 8, random);
+		int[] notifications = {0};
+		controller.setObserver((o, arg) -> notifications[0]++);
+
+		controller.updateTileStatus(8, 8, GUESSED);
+		Assertions.assertEquals(1, notifications[0]);
+
+		MineSweeperTile[][] board = controller.getBoard();
+		for (MineSweeperTile[] tiles : board) {
+			for (MineSweeperTile tile : tiles) {
+				if (tile.getStatus() != GUESSED || tile.getMineCount() != 0) continue;
+				// every neighbour of a revealed zero tile must be revealed too
+				for (int[] coord : tile.getAdjacentTiles()) {
+					int r = coord[0];
+					int c = coord[1];
+					if (r >= 0 && r < board.length && c >= 0 && c < board[r].length)
+						Assertions.assertEquals(GUESSED, board[r][c].getStatus());
+				}
+			}
+		}
+	}
+
+	@Test
+	void testHexGridNeighbors() {
+		// the neighbour table should match getAdjacentTiles, minus the tiles outside the board
+		HexGrid grid = new HexGrid(16, 24);
+		int[] neighbors = new int[HexGrid.NEIGHBORS];
+		Assertions.assertEquals(2, grid.neighbors(grid.index(0, 0), neighbors));
+
+		for (int row = 0; row < grid.getRows(); row++) {
+			for (int col = 0; col < grid.getCols(); col++) {
+				int count = grid.neighbors(grid.index(row, col), neighbors);
+				int expected = 0;
+				for (int[] coord : new MineSweeperTile(row, col).getAdjacentTiles()) {
+					if (coord[0] < 0 || coord[0] >= grid.getRows() || coord[1] < 0 || coord[1] >= grid.getCols())
+						continue;
+					Assertions.assertEquals(grid.index(coord[0], coord[1]), neighbors[expected]);
+					expected++;
+				}
+				Assertions.assertEquals(expected, count);
+			}
+		}
+	}
+
+	@Test
+	void testBoardState() {
+		// mines are stored as bits, so check tiles on either side of a word boundary
+		BoardState state = new BoardState(16, 24);
+		state.setMine(63);
+		state.setMine(64);
+		Assertions.assertTrue(state.isMine(63));
+		Assertions.assertTrue(state.isMine(64));
+		Assertions.assertFalse(state.isMine(62));
+		Assertions.assertFalse(state.isMine(65));
+
+		// tile views read through to the state, and setting a status through one is a move like any other
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Normal");
+		controller.seedBoardGeneration(0, 0, random);
+		MineSweeperTile[][] board = controller.getBoard();
+		board[5][5].setStatus(FLAGGED);
+		Assertions.assertEquals(FLAGGED, controller.getBoard()[5][5].getStatus());
+		Assertions.assertEquals("1 / 76", controller.getMineCount());
+		board[5][5].setStatus(GUESSED); // a flagged tile can't be revealed
+		Assertions.assertEquals(FLAGGED, board[5][5].getStatus());
+		GUESS_STATUS before = board[6][6].getStatus();
+		board[6][6].setStatus(BOMB); // only the game shows the mines
+		Assertions.assertEquals(before, board[6][6].getStatus());
+
+		// and setting a status on the board is a move like any other, even before the first click
+		MineSweeperBoard fresh = new MineSweeperBoard("Easy");
+		fresh.updateTileStatus(3, 3, FLAGGED); // nothing can be flagged yet
+		Assertions.assertFalse(fresh.isGenerated());
+		fresh.updateTileStatus(3, 3, GUESSED);
+		Assertions.assertEquals(GUESSED, fresh.getBoard()[3][3].getStatus());
+		fresh.updateTileStatus(3, 3, FLAGGED); // nor can a revealed tile
+		Assertions.assertEquals(GUESSED, fresh.getBoard()[3][3].getStatus());
+		fresh.updateTileStatus(4, 4, BOMB);
+		Assertions.assertNotEquals(BOMB, fresh.getBoard()[4][4].getStatus());
+	}
+
+	@Test
+	void testWinByCounters() {
+		// revealing every safe tile should win the game, using the board's own counters
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Very Easy");
+		controller.seedBoardGeneration(8, 8, random);
+		controller.updateTileStatus(0, 0, FLAGGED);
+		Assertions.assertEquals(1, controller.getNumFlags());
+
+		MineSweeperTile[][] board = controller.getBoard();
+		for (int row = 0; row < controller.getRows(); row++) {
+			for (int col = 0; col < controller.getCols(); col++) {
+				if (board[row][col].isBomb()) continue;
+				if (board[row][col].getStatus() == FLAGGED)
+					controller.updateTileStatus(row, col, FLAGGED); // unflag it first
+				controller.updateTileStatus(row, col, GUESSED);
+			}
+		}
+
+		Assertions.assertTrue(controller.isGameOver());
+		Assertions.assertTrue(controller.win());
+	}
+
+	@Test
+	void testDenseBombPlacement() {
+		// even with more bombs than free tiles, placement should finish and never touch the safe zone
+		MineSweeperBoard model = new MineSweeperBoard("Very Easy");
+		model.setNumBombs(model.getRows() * model.getCols());
+		model.createBoard(5, 5, new Random(SEED));
+
+		int safeTiles = 0;
+		MineSweeperTile[][] board = model.getBoard();
+		for (MineSweeperTile[] tiles : board)
+			for (MineSweeperTile tile : tiles)
+				if (!tile.isBomb()) safeTiles++;
+		Assertions.assertEquals(HexGrid.NEIGHBORS + 1, safeTiles);
+		Assertions.assertEquals(model.getRows() * model.getCols() - safeTiles, model.getNumBombs());
+		Assertions.assertEquals(0, board[5][5].getMineCount());
+
+		// the same seed should always give the same board
+		MineSweeperBoard other = new MineSweeperBoard("Normal");
+		MineSweeperBoard same = new MineSweeperBoard("Normal");
+		other.createBoard(3, 3, new Random(SEED));
+		same.createBoard(3, 3, new Random(SEED));
+		for (int row = 0; row < other.getRows(); row++)
+			for (int col = 0; col < other.getCols(); col++)
+				Assertions.assertEquals(other.isBomb(row, col), same.isBomb(row, col));
+	}
+
+	@Test
+	void testMineCountsAtEdges() {
+		// every tile, including the ones on the edges, should count exactly the bombs around it
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Very Hard");
+		controller.seedBoardGeneration(10, 10, random);
+		MineSweeperTile[][] board = controller.getBoard();
+
+		for (int row = 0; row < controller.getRows(); row++) {
+			for (int col = 0; col < controller.getCols(); col++) {
+				int actual = 0;
+				for (int[] coord : board[row][col].getAdjacentTiles()) {
+					int r = coord[0];
+					int c = coord[1];
+					if (r >= 0 && r < board.length && c >= 0 && c < board[r].length && board[r][c].isBomb())
+						actual++;
+				}
+				Assertions.assertEquals(actual, board[row][col].getMineCount());
+			}
+		}
+	}
+
+	@Test
+	void testSaveFormat() throws IOException {
+		// a saved game should come back with the same mines, counts and counters
+		Random random = new Random(SEED);
+		MineSweeperController controller = new MineSweeperController("Very Hard");
+		controller.seedBoardGeneration(10, 10, random);
+		controller.updateTileStatus(10, 10, GUESSED);
+		controller.updateTileStatus(0, 0, FLAGGED);
+
+		File testFile = new File("TESTING_FILE.txt");
+		controller.saveGame(testFile);
+		// a few hundred bytes, rather than one object per tile
+		Assertions.assertTrue(testFile.length() < 400);
+
+		MineSweeperController loaded = new MineSweeperController(testFile);
+		Assertions.assertEquals(controller.getMineCount(), loaded.getMineCount());
+		MineSweeperTile[][] board = controller.getBoard();
+		MineSweeperTile[][] board2 = loaded.getBoard();
+		for (int row = 0; row < controller.getRows(); row++) {
+			for (int col = 0; col < controller.getCols(); col++) {
+				Assertions.assertEquals(board[row][col].isBomb(), board2[row][col].isBomb());
+				Assertions.assertEquals(board[row][col].getMineCount(), board2[row][col].getMineCount());
+				Assertions.assertEquals(board[row][col].getStatus(), board2[row][col].getStatus());
+			}
+		}
+
+		// anything that isn't a save file should be rejected
+		Files.writeString(testFile.toPath(), "not a save file");
+		Assertions.assertThrows(IOException.class, () -> new MineSweeperController(testFile));
+	}
+
+	@Test
+	void testHeadlessEngine() {
+		// the same seed and moves should always play out the same way, without any view or controller
+		GameEngine engine = GameEngine.fromSeed(Difficulty.NORMAL, SEED);
+		GameEngine same = GameEngine.fromSeed(Difficulty.NORMAL, SEED);
+		Assertions.assertFalse(engine.isGenerated());
+		engine.toggleFlag(0); // flags are ignored before the first reveal
+		Assertions.assertEquals(0, engine.getNumFlagged());
+
+		int start = engine.getGrid().index(8, 8);
+		Assertions.assertTrue(engine.reveal(start) > 0);
+		same.reveal(start);
+		Assertions.assertEquals(Difficulty.NORMAL.getNumMines(), engine.getNumMines());
+		for (int cell = 0; cell < engine.getGrid().size(); cell++)
+			Assertions.assertEquals(engine.getState().isMine(cell), same.getState().isMine(cell));
+
+		// flagging a mine and revealing it does nothing, and unflagging it then revealing it loses
+		int mine = 0;
+		while (!engine.getState().isMine(mine)) mine++;
+		engine.toggleFlag(mine);
+		Assertions.assertEquals(1, engine.getNumFlagged());
+		Assertions.assertEquals(0, engine.reveal(mine));
+		Assertions.assertFalse(engine.isOver());
+		engine.toggleFlag(mine);
+		engine.reveal(mine);
+		Assertions.assertTrue(engine.isOver());
+		Assertions.assertFalse(engine.isWon());
+		Assertions.assertEquals(BoardState.BOMB, engine.getStatus(mine));
+	}
+
+	@Test
+	void testEngineReuse() {
+		// an engine reused for a new game starts over, and still plays the same as a fresh one
+		GameEngine reused = GameEngine.fromSeed(Difficulty.NORMAL, SEED);
+		reused.reveal(0);
+		reused.newGame(new SplittableRandom(SEED));
+		Assertions.assertFalse(reused.isGenerated());
+		GameEngine fresh = GameEngine.fromSeed(Difficulty.NORMAL, SEED);
+		reused.reveal(100);
+		fresh.reveal(100);
+		Assertions.assertEquals(fresh.getNumRevealed(), reused.getNumRevealed());
+		for (int cell = 0; cell < fresh.getGrid().size(); cell++)
+			Assertions.assertEquals(fresh.getState().isMine(cell), reused.getState().isMine(cell));
+
+		// two scoreboards no longer share their times
+		ScoreBoard first = new ScoreBoard();
+		ScoreBoard second = new ScoreBoard();
+		first.addNewTime(0.001, "Hard", false);
+		Assertions.assertNotEquals(0.001, second.getTopTimes("Hard")[0]);
+	}
+
+	@Test
+	void testStatusCodes() {
+		// every status converts to its byte and back, and the bytes are the ones the packed board uses
+		for (GUESS_STATUS status : GUESS_STATUS.values())
+			Assertions.assertEquals(status, GUESS_STATUS.fromCode(status.code()));
+		Assertions.assertEquals(BoardState.UNGUESSED, UNGUESSED.code());
+		Assertions.assertEquals(BoardState.GUESSED, GUESSED.code());
+		Assertions.assertEquals(BoardState.FLAGGED, FLAGGED.code());
+		Assertions.assertEquals(BoardState.BOMB, BOMB.code());
+
+		MineSweeperTile tile = new MineSweeperTile(0, 0, FLAGGED);
+		Assertions.assertEquals(FLAGGED, tile.getStatus());
+		tile.setStatus(BOMB);
+		Assertions.assertEquals(BOMB, tile.getStatus());
+	}
+
+	@Test
+	void testMoveLogReplay() throws IOException {
+		// a game played through the controller rebuilds exactly from its seed and moves
+		MineSweeperController controller = new MineSweeperController("Easy");
+		controller.updateTileStatus(8, 10, GUESSED);
+		MineSweeperBoard model = new MineSweeperBoard("Easy");
+		Assertions.assertNull(model.getMoveLog());
+		MoveLog log = controller.getMoveLog();
+		GameEngine played = log.replay();
+		int mine = 0;
+		while (!played.getState().isMine(mine)) mine++;
+		int cols = controller.getCols();
+		controller.updateTileStatus(mine / cols, mine % cols, FLAGGED);
+		controller.updateTilesAround(mine / cols, mine % cols);
+		controller.updateTileStatus(0, 0, GUESSED);
+		Assertions.assertEquals(4, log.size());
+		Assertions.assertEquals(MoveLog.FLAG, log.getType(1));
+		Assertions.assertEquals(mine, log.getCell(1));
+
+		GameEngine replayed = log.replay();
+		MineSweeperTile[][] board = controller.getBoard();
+		for (int cell = 0; cell < replayed.getGrid().size(); cell++) {
+			Assertions.assertEquals(board[cell / cols][cell % cols].isBomb(), replayed.getState().isMine(cell));
+			Assertions.assertEquals(board[cell / cols][cell % cols].getStatus().code(), replayed.getStatus(cell));
+		}
+		Assertions.assertEquals(controller.isGameOver(), replayed.isOver());
+		Assertions.assertEquals(0, log.replay(1).getNumFlagged());
+		Assertions.assertEquals(1, log.replay(2).getNumFlagged());
+
+		// the same moves come back out of an encoded copy and a mapped file
+		MoveLog copy = MoveLog.read(log.encode());
+		Assertions.assertEquals(log.size(), copy.size());
+		Assertions.assertEquals("Easy", copy.getDifficulty());
+		Assertions.assertEquals(log.getSeed(), copy.getSeed());
+		Path path = Files.createTempFile("moves", ".log");
+		try {
+			try (MoveLog mapped = MoveLog.create(path, "Easy", copy.getRows(), copy.getCols(), copy.getNumMines(), copy.getSeed())) {
+				for (int i = 0; i < 300; i++) // enough to grow the file
+					mapped.append(copy.getType(i % 4), copy.getCell(i % 4), i);
+			}
+			try (MoveLog reopened = MoveLog.open(path)) {
+				Assertions.assertEquals(300, reopened.size());
+				Assertions.assertEquals(299, reopened.getElapsedMillis());
+				Assertions.assertEquals(replayed.getNumRevealed(), reopened.replay(4).getNumRevealed());
+			}
+		} finally {
+			Files.delete(path);
+		}
+		Assertions.assertThrows(IOException.class, () -> MoveLog.read(java.nio.ByteBuffer.allocate(64)));
+	}
+
+	@Test
+	void testAutoSave() throws Exception {
+		// moves are only written once the saver is flushed or its interval comes around, and restore brings them back
+		Path dir = Files.createTempDirectory("autosave");
+		Path file = dir.resolve("autosave.bin");
+		MineSweeperController controller = new MineSweeperController("Hard");
+		controller.seedBoardGeneration(10, 10, new Random(SEED));
+		controller.updateTileStatus(10, 10, GUESSED);
+		// another copy of the game mid-save, whose temporary file must be left alone
+		Path stranger = dir.resolve("autosave.bin.tmp");
+		Files.writeString(stranger, "half of another game");
+		try (AutoSaver saver = new AutoSaver(file, 60_000, false, controller::encodeGame, Runnable::run)) {
+			saver.flush().join();
+			Assertions.assertNull(AutoSaver.restore(file)); // nothing had changed yet
+			saver.markDirty();
+			saver.flush().join();
+		}
+		SavedGame restored = AutoSaver.restore(file);
+		Assertions.assertEquals("Hard", restored.getDifficulty());
+		Assertions.assertEquals(controller.getBoard()[10][10].getStatus().code(),
+				restored.getState().getStatus(restored.getState().getCols() * 10 + 10));
+		Assertions.assertEquals("half of another game", Files.readString(stranger));
+		try (Stream<Path> files = Files.list(dir)) {
+			Assertions.assertEquals(2, files.count()); // the save and the stranger's file, with no temporary file left
+		}
+
+		MineSweeperController loaded = new MineSweeperController("Normal");
+		loaded.loadGame(restored);
+		Assertions.assertEquals(20, loaded.getRows());
+
+		// the background check saves a change on its own, and closing writes the last one
+		int unguessed = 0;
+		while (controller.getBoard()[unguessed / 24][unguessed % 24].getStatus() != UNGUESSED) unguessed++;
+		controller.updateTileStatus(unguessed / 24, unguessed % 24, FLAGGED);
+		AutoSaver saver = new AutoSaver(file, 10, true, controller::encodeGame, Runnable::run);
+		saver.markDirty();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (AutoSaver.restore(file).getState().getNumFlagged() == 0 && System.currentTimeMillis() < deadline)
+			Thread.sleep(10);
+		saver.close();
+		Assertions.assertEquals(controller.getNumFlags(), AutoSaver.restore(file).getState().getNumFlagged());
+		Assertions.assertNull(saver.getLastError());
+
+		Files.delete(file);
+		Files.delete(stranger);
+		Files.delete(dir);
+	}
+
+	@Test
+	void testConcurrentScores() throws Exception {
+		// many games saving at once lose none of their times, and the log gets compacted as it goes
+		Path dir = Files.createTempDirectory("scores");
+		Path file = dir.resolve("scores.txt");
+		Files.writeString(file, "9.5 Hard\n8.25 Hard\n");
+		ScoreBoard first = new ScoreBoard(file);
+		ScoreBoard second = new ScoreBoard(file);
+		Assertions.assertEquals(8.25, first.getTopTimes("Hard")[0]);
+
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		for (int thread = 0; thread < 8; thread++) {
+			ScoreBoard board = thread % 2 == 0 ? first : second;
+			int offset = thread;
+			pool.execute(() -> {
+				// each thread keeps getting faster, so most of its times get saved
+				for (int i = 0; i < 200; i++)
+					board.addNewTime(200 - i + offset / 8.0, offset < 4 ? "Hard" : "Easy", true);
+			});
+		}
+		pool.shutdown();
+		Assertions.assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+		Assertions.assertTrue(Files.readAllLines(file).stream().filter(line -> !line.startsWith("#")).count() < 300);
+
+		ScoreBoard reloaded = new ScoreBoard(file);
+		Assertions.assertArrayEquals(new Double[] {1.0, 1.125, 1.25, 1.375, 2.0}, reloaded.getTopTimes("Hard"));
+		Assertions.assertArrayEquals(new Double[] {1.5, 1.625, 1.75, 1.875, 2.5}, reloaded.getTopTimes("Easy"));
+		// every time is still counted after compacting, and ranks where it should
+		Assertions.assertEquals(802, reloaded.getLeaderboard().getCount("Hard"));
+		Assertions.assertEquals(50, reloaded.getPercentile(100.5, "Hard"), 2);
+		Assertions.assertEquals(100, reloaded.getPercentile(500, "Easy"));
+		Assertions.assertNull(new ScoreBoard(dir.resolve("none.txt")).getTopTimes("Easy")[0]);
+
+		for (String name : new String[] {"scores.txt", "scores.txt.lock"})
+			Files.deleteIfExists(dir.resolve(name));
+		Files.delete(dir);
+	}
+
+	@Test
+	void testLeaderboard() {
+		// any number of best times for any board size, and percentiles from the histogram rather than the times
+		Leaderboard leaderboard = new Leaderboard(50);
+		String custom = Leaderboard.key(40, 60, 500);
+		Assertions.assertEquals("40x60/500", custom);
+		Assertions.assertEquals("Hard", Leaderboard.key(20, 24, Difficulty.HARD.getNumMines()));
+		Assertions.assertTrue(Double.isNaN(leaderboard.getPercentile(custom, 10)));
+
+		SplittableRandom random = new SplittableRandom(SEED);
+		for (int i = 0; i < 100_000; i++)
+			leaderboard.submit(custom, 10 + random.nextDouble() * 90); // evenly spread from 10 to 100 seconds
+		double[] top = leaderboard.getTopTimes(custom);
+		Assertions.assertEquals(50, top.length);
+		for (int i = 1; i < top.length; i++)
+			Assertions.assertTrue(top[i - 1] <= top[i]);
+		Assertions.assertTrue(top[0] >= 10 && top[49] < 10.1);
+
+		Assertions.assertEquals(50, leaderboard.getPercentile(custom, 55), 1);
+		Assertions.assertEquals(10, leaderboard.getPercentile(custom, 19), 1);
+		Assertions.assertEquals(55, leaderboard.getTimeAtPercentile(custom, 50), 55 * 0.04);
+		Assertions.assertEquals(0, leaderboard.getPercentile(custom, 5));
+		Assertions.assertEquals(100, leaderboard.getPercentile(custom, 1000));
+		Assertions.assertEquals(0, leaderboard.getCount("Hard"));
+
+		// every bucket starts right after the one before it
+		for (int bucket = 1; bucket < Leaderboard.getNumBuckets(); bucket++)
+			Assertions.assertEquals(bucket, Leaderboard.bucket(Leaderboard.lowestMillis(bucket)));
+	}
+
+	@Test
+	void testSolver() {
+		// everything the solver works out is right, and playing only what it finds wins plenty of games
+		int won = 0;
+		for (int game = 0; game < 200; game++) {
+			Difficulty difficulty = Difficulty.values()[game % Difficulty.values().length];
+			GameEngine engine = GameEngine.fromSeed(difficulty, SEED + game);
+			Solver solver = new Solver(engine.getGrid());
+			engine.reveal(engine.getGrid().index(difficulty.getRows() / 2, difficulty.getCols() / 2));
+			while (!engine.isOver() && solver.solve(engine.getState())) {
+				boolean revealed = false;
+				for (int cell = 0; cell < engine.getGrid().size(); cell++) {
+					Assertions.assertFalse(solver.isSafe(cell) && engine.getState().isMine(cell));
+					Assertions.assertFalse(solver.isMine(cell) && !engine.getState().isMine(cell));
+					if (solver.isSafe(cell) && engine.getStatus(cell) == BoardState.UNGUESSED) {
+						engine.reveal(cell);
+						revealed = true;
+					}
+				}
+				if (!revealed) break; // only mines were found, and they don't open anything up
+			}
+			Assertions.assertFalse(engine.isOver() && !engine.isWon());
+			if (engine.isWon()) won++;
+		}
+		Assertions.assertTrue(won > 20, "won " + won);
+
+		// the controller's hint is never a mine, and comes from the middle before the first click
+		MineSweeperController controller = new MineSweeperController("Normal");
+		Assertions.assertArrayEquals(new int[] {8, 12}, controller.getHint());
+		controller.updateTileStatus(8, 12, GUESSED);
+		int[] hint = controller.getHint();
+		while (hint != null && !controller.isGameOver()) {
+			Assertions.assertFalse(controller.getBoard()[hint[0]][hint[1]].isBomb());
+			controller.updateTileStatus(hint[0], hint[1], GUESSED);
+			hint = controller.getHint();
+		}
+		Assertions.assertTrue(!controller.isGameOver() || controller.win());
+	}
+
+	@Test
+	void testNoGuessGenerator() {
+		// running the attempts on the calling thread with plenty of time makes every board a real one
+		NoGuessGenerator generator = new NoGuessGenerator(Runnable::run, 1, 60_000);
+		for (int game = 0; game < 10; game++) {
+			Difficulty difficulty = game % 2 == 0 ? Difficulty.HARD : Difficulty.VERY_HARD;
+			GameEngine engine = GameEngine.fromSeed(difficulty, SEED + game);
+			engine.setGenerator(generator);
+			int start = engine.getGrid().index(difficulty.getRows() / 2, difficulty.getCols() / 2);
+			engine.reveal(start);
+			Assertions.assertEquals(difficulty.getNumMines(), engine.getNumMines());
+			Assertions.assertEquals(0, engine.getMineCount(start));
+			Assertions.assertTrue(NoGuessGenerator.isSolvable(engine.getState(), start));
+
+			// and the solver wins it without ever having to guess
+			Solver solver = new Solver(engine.getGrid());
+			while (!engine.isOver()) {
+				Assertions.assertTrue(solver.solve(engine.getState()));
+				int cell = solver.getHint(engine.getState());
+				Assertions.assertTrue(cell >= 0);
+				engine.reveal(cell);
+			}
+			Assertions.assertTrue(engine.isWon());
+		}
+		Assertions.assertEquals(10, generator.getBoards());
+		Assertions.assertEquals(0, generator.getFallbacks());
+		Assertions.assertTrue(generator.getAttemptsPerBoard() >= 1);
+
+		// with no time at all it settles for a random board, which still keeps the first click clear
+		NoGuessGenerator hurried = new NoGuessGenerator(Runnable::run, 1, 0);
+		HexGrid grid = new HexGrid(24, 30);
+		BoardState state = hurried.generate(grid, 240, grid.index(12, 15), SEED);
+		Assertions.assertEquals(240, state.getNumMines());
+		Assertions.assertEquals(0, state.getMineCount(grid.index(12, 15)));
+		Assertions.assertEquals(1, hurried.getFallbacks());
+
+		// and a controller can play without guessing too, without keeping a move log, but only if given a generator
+		Assertions.assertThrows(IllegalStateException.class, () -> new MineSweeperController("Easy").setNoGuess(true));
+		try (NoGuessGenerator own = new NoGuessGenerator()) {
+			MineSweeperController controller = new MineSweeperController("Easy", own);
+			controller.setNoGuess(true);
+			Assertions.assertTrue(controller.isNoGuess());
+			controller.updateTileStatus(8, 10, GUESSED);
+			Assertions.assertNull(controller.getMoveLog());
+			Assertions.assertFalse(controller.isGameOver());
+			Assertions.assertEquals(1, own.getBoards());
+			Assertions.assertSame(own, controller.getNoGuessGenerator());
+
+			// the metrics are the generator's own, not shared with any other
+			Assertions.assertEquals(10, generator.getBoards());
+		}
+	}
+
+	@Test
+	void testProbabilityEngine() {
+		// on boards small enough to try every placement of the mines, the chances are exactly right
+		int contradictions = 0;
+		for (int game = 0; game < 40; game++) {
+			GameEngine engine = new GameEngine(4, 5, 4 + game % 3, new SplittableRandom(SEED + game));
+			engine.reveal(engine.getGrid().index(2, 2));
+			if (engine.isOver()) continue;
+			BoardState state = engine.getState();
+			double[] expected = countPlacements(engine.getGrid(), state);
+
+			ProbabilityEngine exact = new ProbabilityEngine(engine.getGrid());
+			double[] chances = exact.compute(state);
+			Assertions.assertTrue(exact.isExact());
+			for (int cell = 0; cell < chances.length; cell++) {
+				if (state.getStatus(cell) == BoardState.GUESSED)
+					Assertions.assertTrue(Double.isNaN(chances[cell]));
+				else
+					Assertions.assertEquals(expected[cell], chances[cell], 1e-9);
+			}
+
+			// nothing changed, so nothing is worked out again
+			double[] before = chances.clone();
+			exact.compute(state);
+			Assertions.assertEquals(0, exact.getNumComputed());
+			Assertions.assertArrayEquals(before, exact.compute(state));
+
+			// and sampling gets close, with nothing enumerated
+			ProbabilityEngine sampled = new ProbabilityEngine(engine.getGrid(), 0, 20, SEED);
+			chances = sampled.compute(state);
+			if (sampled.getNumComponents() > 0)
+				Assertions.assertFalse(sampled.isExact());
+			for (int cell = 0; cell < chances.length; cell++)
+				if (state.getStatus(cell) != BoardState.GUESSED)
+					Assertions.assertEquals(expected[cell], chances[cell], 0.2);
+
+			// numbers that contradict each other leave nothing to say, but only until they make sense again
+			for (int numbered = 0; numbered < state.size(); numbered++) {
+				if (state.getStatus(numbered) != BoardState.GUESSED || state.getMineCount(numbered) == 0) continue;
+				BoardState edited = new BoardState(state.getRows(), state.getCols());
+				for (int word = 0; word < (state.size() + 63) / 64; word++)
+					edited.setMineWord(word, state.getMineWord(word));
+				edited.computeMineCounts(engine.getGrid());
+				for (int cell = 0; cell < state.size(); cell++)
+					edited.setStatus(cell, state.getStatus(cell));
+				edited.addMineCount(numbered);
+				chances = exact.compute(edited);
+				boolean unknown = false;
+				for (int cell = 0; cell < chances.length; cell++)
+					unknown |= edited.getStatus(cell) != BoardState.GUESSED && Double.isNaN(chances[cell]);
+				if (unknown) contradictions++;
+				chances = exact.compute(state);
+				for (int cell = 0; cell < chances.length; cell++)
+					if (state.getStatus(cell) != BoardState.GUESSED)
+						Assertions.assertEquals(expected[cell], chances[cell], 1e-9);
+			}
+		}
+		Assertions.assertTrue(contradictions > 0);
+
+		// the controller has nothing to say before the first click, and chances between 0 and 1 after it
+		MineSweeperController controller = new MineSweeperController("Hard");
+		Assertions.assertNull(controller.getMineProbabilities());
+		controller.updateTileStatus(10, 12, GUESSED);
+		double[][] chances = controller.getMineProbabilities();
+		Assertions.assertEquals(20, chances.length);
+		for (int row = 0; row < chances.length; row++)
+			for (int col = 0; col < chances[row].length; col++) {
+				if (controller.getBoard()[row][col].getStatus() == GUESSED)
+					Assertions.assertTrue(Double.isNaN(chances[row][col]));
+				else
+					Assertions.assertTrue(chances[row][col] >= 0 && chances[row][col] <= 1);
+			}
+	}
+
+	@Test
+	void testCustomBoard() throws IOException {
+		// a size and density matching a difficulty gets that difficulty's name, anything else is named by its size
+		Assertions.assertEquals("Normal", Difficulty.customName(16, 24, 100.0 * 76 / 384));
+		Assertions.assertEquals("40x60/480", Difficulty.customName(40, 60, 20));
+		Assertions.assertArrayEquals(new int[] {40, 60, 480}, Difficulty.parseCustom("40x60/480"));
+		Assertions.assertNull(Difficulty.parseCustom("Normal"));
+		Assertions.assertNull(Difficulty.parseCustom("3x60/10"));
+		Assertions.assertNull(Difficulty.parseCustom("40x60/0"));
+		Assertions.assertNull(Difficulty.parseCustom("40xsixty/10"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Difficulty.customName(3, 60, 20));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Difficulty.customName(4096, 4096, 20));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Difficulty.customName(40, 60, 0.01));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Difficulty.customName(4, 4, 99));
+
+		MineSweeperController controller = new MineSweeperController("40x60/480");
+		Assertions.assertEquals(40, controller.getRows());
+		Assertions.assertEquals(60, controller.getCols());
+		Assertions.assertEquals(480, controller.getBombCount());
+		controller.updateTileStatus(20, 30, GUESSED);
+		Assertions.assertEquals(GUESSED, controller.getTileStatus(20, 30));
+		Assertions.assertNotNull(controller.getMoveLog());
+
+		// saved and loaded like any other game
+		MineSweeperController loaded = new MineSweeperController("Normal");
+		loaded.loadGame(SavedGame.decode(controller.encodeGame()));
+		Assertions.assertEquals(60, loaded.getCols());
+		for (int row = 0; row < 40; row++)
+			for (int col = 0; col < 60; col++) {
+				Assertions.assertEquals(controller.getTileStatus(row, col), loaded.getTileStatus(row, col));
+				Assertions.assertEquals(controller.getTileMineCount(row, col), loaded.getTileMineCount(row, col));
+			}
+
+		// millions of tiles play the same way, though a name this long can't go in a move log
+		String huge = Difficulty.customName(1000, 4000, 25);
+		Assertions.assertEquals("1000x4000/1000000", huge);
+		controller = new MineSweeperController(huge);
+		controller.updateTileStatus(500, 2000, GUESSED);
+		Assertions.assertEquals(GUESSED, controller.getTileStatus(500, 2000));
+		Assertions.assertEquals(1_000_000, controller.getBombCount());
+		Assertions.assertNull(controller.getMoveLog());
+	}
+
+	/**
+	 * Works out the chance of a mine on each unrevealed tile the slow way, by trying every placement of the mines
+	 * and keeping the ones that match every revealed number.
+	 */
+	private static double[] countPlacements(HexGrid grid, BoardState state) {
+		int[] open = new int[grid.size()];
+		int numOpen = 0;
+		for (int cell = 0; cell < grid.size(); cell++)
+			if (state.getStatus(cell) != BoardState.GUESSED)
+				open[numOpen++] = cell;
+		double[] hits = new double[grid.size()];
+		int[] neighbors = new int[HexGrid.NEIGHBORS];
+		long placements = 0;
+		for (long set = 0; set < 1L << numOpen; set++) {
+			if (Long.bitCount(set) != state.getNumMines()) continue;
+			boolean[] mine = new boolean[grid.size()];
+			for (int i = 0; i < numOpen; i++)
+				mine[open[i]] = (set & (1L << i)) != 0;
+			boolean matches = true;
+			for (int cell = 0; cell < grid.size() && matches; cell++) {
+				if (state.getStatus(cell) != BoardState.GUESSED) continue;
+				int count = grid.neighbors(cell, neighbors), mines = 0;
+				for (int i = 0; i < count; i++)
+					if (mine[neighbors[i]]) mines++;
+				matches = mines == state.getMineCount(cell);
+			}
+			if (!matches) continue;
+			placements++;
+			for (int i = 0; i < numOpen; i++)
+				if (mine[open[i]]) hits[open[i]]++;
+		}
+		for (int cell = 0; cell < hits.length; cell++)
+			hits[cell] /= placements;
+		return hits;
+	}
+
+}
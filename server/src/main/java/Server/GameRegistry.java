@@ -0,0 +1,238 @@
+package Server;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import Models.BoardState;
+import Models.Difficulty;
+import Models.GameEngine;
+import Models.HexGrid;
+import Models.Leaderboard;
+
+/**
+ * This class hosts any number of games at once, each addressed by its id.
+ *
+ * Every game belongs to one of a fixed number of stripes, each of which is a single thread that plays every move
+ * made in its games, one at a time. A game is therefore only ever changed by one thread and needs no locks,
+ * while games on different stripes are played in parallel, and no game ever has a thread of its own.
+ *
+ * Games are stored as small GameSessions. Each stripe keeps one GameEngine per difficulty, which is pointed at a
+ * session's board for the length of a move, so the grids, reveal stacks and change sets are shared by every game
+ * on the stripe instead of being held by every idle game.
+ */
+public class GameRegistry implements AutoCloseable {
+
+    /**
+     * The number of best times kept for each difficulty.
+     */
+    public static final int TOP_TIMES = 100;
+
+    private final ConcurrentHashMap<Long, GameSession> games = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Stripe[] stripes;
+    private final Leaderboard leaderboard = new Leaderboard(TOP_TIMES);
+
+    /**
+     * One thread of the registry, along with the engines only that thread may use.
+     */
+    private static final class Stripe {
+        final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-stripe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final GameEngine[] engines = new GameEngine[Difficulty.values().length];
+
+        /**
+         * Gets this stripe's engine for a difficulty, creating it the first time.
+         * @param difficulty The difficulty of the game to play.
+         * @return The engine for that difficulty.
+         */
+        GameEngine engine(Difficulty difficulty) {
+            GameEngine engine = engines[difficulty.ordinal()];
+            if (engine == null) {
+                engine = new GameEngine(difficulty.getRows(), difficulty.getCols(), difficulty.getNumMines(), null);
+                engines[difficulty.ordinal()] = engine;
+            }
+            return engine;
+        }
+    }
+
+    /**
+     * Creates a registry with one stripe for every processor.
+     */
+    public GameRegistry() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a registry.
+     * @param numStripes The number of threads to play the games on.
+     */
+    public GameRegistry(int numStripes) {
+        stripes = new Stripe[numStripes];
+        for (int i = 0; i < numStripes; i++)
+            stripes[i] = new Stripe();
+    }
+
+    /**
+     * Starts a new game. Nothing is allocated for its board until its first reveal.
+     *
+     * @param difficulty The difficulty of the game.
+     * @param seed The seed the mines will be placed from.
+     * @return The id of the new game.
+     */
+    public long create(Difficulty difficulty, long seed) {
+        long id = nextId.getAndIncrement();
+        games.put(id, new GameSession(id, difficulty, seed));
+        return id;
+    }
+
+    /**
+     * Plays a move in a game, on the game's stripe.
+     *
+     * @param id The id of the game.
+     * @param move The move to play.
+     * @param row The row of the tile to play it on.
+     * @param col The column of the tile to play it on.
+     * @return A future holding the result of the move, which fails with an IllegalArgumentException
+     *         if there is no such game or the tile is off the board.
+     */
+    public CompletableFuture<MoveResult> play(long id, Move move, int row, int col) {
+        return onStripe(id, (session, engine) -> {
+            HexGrid grid = engine.getGrid();
+            if (row < 0 || row >= grid.getRows() || col < 0 || col >= grid.getCols())
+                throw new IllegalArgumentException("Tile " + row + " " + col + " is not on the board");
+
+            int cell = grid.index(row, col);
+            boolean wasOver = engine.isOver();
+            if (move == Move.REVEAL && !engine.isGenerated())
+                session.start(System.nanoTime());
+            switch (move) {
+                case REVEAL -> engine.reveal(cell);
+                case FLAG -> engine.toggleFlag(cell);
+                case CHORD -> engine.chord(cell);
+            }
+            int changed = engine.getChanges().size();
+            engine.getChanges().clear();
+            session.update(engine.getState(), engine.isOver(), engine.isWon());
+            if (engine.isWon() && !wasOver)
+                leaderboard.submit(session.getDifficulty().getName(),
+                        (System.nanoTime() - session.getStartNanos()) / 1e9);
+            return new MoveResult(changed, engine.isOver(), engine.isWon());
+        });
+    }
+
+    /**
+     * Draws a game as text, as a player would see it: one line per row, with '.' for an unguessed tile,
+     * 'F' for a flag, '*' for a shown mine and the number of adjacent mines for a revealed tile.
+     *
+     * @param id The id of the game.
+     * @return A future holding the rows of the board, joined by '/'.
+     */
+    public CompletableFuture<String> render(long id) {
+        return onStripe(id, (session, engine) -> {
+            HexGrid grid = engine.getGrid();
+            StringBuilder text = new StringBuilder(grid.size() + grid.getRows());
+            for (int cell = 0; cell < grid.size(); cell++) {
+                if (cell > 0 && grid.colOf(cell) == 0) text.append('/');
+                switch (engine.getStatus(cell)) {
+                    case BoardState.GUESSED -> text.append((char) ('0' + engine.getMineCount(cell)));
+                    case BoardState.FLAGGED -> text.append('F');
+                    case BoardState.BOMB -> text.append('*');
+                    default -> text.append('.');
+                }
+            }
+            return text.toString();
+        });
+    }
+
+    /**
+     * Runs a task against a game on its stripe, with the stripe's engine pointed at the game's board.
+     *
+     * @param id The id of the game.
+     * @param task The task to run.
+     * @return A future holding the result of the task.
+     */
+    private <T> CompletableFuture<T> onStripe(long id, StripeTask<T> task) {
+        GameSession session = games.get(id);
+        if (session == null)
+            return CompletableFuture.failedFuture(new IllegalArgumentException("No game with id " + id));
+
+        Stripe stripe = stripes[(int) Long.remainderUnsigned(id, stripes.length)];
+        return CompletableFuture.supplyAsync(() -> {
+            GameEngine engine = stripe.engine(session.getDifficulty());
+            engine.setState(session.getState(), session.isOver(), session.isWon());
+            if (session.getState() == null)
+                engine.newGame(new SplittableRandom(session.getSeed())); // the mines are placed on the first reveal
+            engine.getChanges().clear();
+            return task.apply(session, engine);
+        }, stripe.executor);
+    }
+
+    /**
+     * Something to do to a game on its stripe.
+     */
+    @FunctionalInterface
+    private interface StripeTask<T> {
+        T apply(GameSession session, GameEngine engine);
+    }
+
+    /**
+     * Ends a game and forgets it.
+     * @param id The id of the game.
+     * @return true if there was a game with that id.
+     */
+    public boolean remove(long id) {
+        return games.remove(id) != null;
+    }
+
+    /**
+     * Gets a game
+     * @param id The id of the game.
+     * @return The game, or null if there is none with that id.
+     */
+    public GameSession get(long id) {
+        return games.get(id);
+    }
+
+    /**
+     * Gets the times of every game won in this registry, ranked for each difficulty by its name.
+     * @return The leaderboard, which any thread may read.
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * @return The number of games being hosted.
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * Stops the stripes, waiting up to 10 seconds for any moves already submitted to finish.
+     * Moves still running after that, or when the waiting thread is interrupted, are abandoned.
+     */
+    @Override
+    public void close() {
+        for (Stripe stripe : stripes)
+            stripe.executor.shutdown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        try {
+            for (Stripe stripe : stripes)
+                if (!stripe.executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS))
+                    stripe.executor.shutdownNow();
+        } catch (InterruptedException e) {
+            for (Stripe stripe : stripes)
+                stripe.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package Server;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import Models.Difficulty;
+
+/**
+ * This class serves the games of a GameRegistry over a simple line protocol, on the loopback address only.
+ *
+ * Each request is one line of words and gets one line back, starting with OK or ERR:
+ *   NEW difficulty [seed]       starts a game, answering with its id, rows and columns (like NEW VERY_EASY 57)
+ *   REVEAL id row col           reveals a tile, answering with the number of tiles changed and PLAYING, WON or LOST
+ *   FLAG id row col             flags or unflags a tile, answering the same way
+ *   CHORD id row col            reveals around a tile, answering the same way
+ *   SHOW id                     answers with the board as text, as drawn by GameRegistry.render
+ *   END id                      ends a game and forgets it
+ *   COUNT                       answers with the number of games being hosted
+ *   TOP difficulty [n]          answers with the best n times won at a difficulty (10 by default), in seconds
+ *   RANK difficulty seconds     answers with the percentage of games won at a difficulty as fast or faster
+ *   QUIT                        closes the connection
+ *
+ * Each connection has a thread reading its requests, but the games themselves are played on the registry's stripes,
+ * so any connection can play any game.
+ */
+public class GameServer implements Closeable {
+
+    private final GameRegistry registry;
+    private final ServerSocket serverSocket;
+    private final Set<Socket> open = ConcurrentHashMap.newKeySet();
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "game-connection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a server listening on the loopback address. It does not accept connections until started.
+     *
+     * @param registry The games to serve.
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port cannot be listened on.
+     */
+    public GameServer(GameRegistry registry, int port) throws IOException {
+        this.registry = registry;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     */
+    public void start() {
+        connections.execute(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.execute(() -> serve(socket));
+                } catch (IOException e) {
+                    // the server socket was closed
+                }
+            }
+        });
+    }
+
+    /**
+     * Answers the requests of one connection until it quits or disconnects.
+     * @param socket The connection.
+     */
+    private void serve(Socket socket) {
+        open.add(socket);
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("QUIT")) break;
+                out.println(handle(line));
+            }
+        } catch (SocketException ignored) {
+            // the client went away
+        } catch (IOException e) {
+            System.err.println("Connection failed: " + e.getMessage());
+        } finally {
+            open.remove(socket);
+        }
+    }
+
+    /**
+     * Answers a single request.
+     * @param line The request.
+     * @return The response, starting with OK or ERR.
+     */
+    String handle(String line) {
+        String[] words = line.trim().split("\\s+");
+        try {
+            switch (words[0].toUpperCase(Locale.ROOT)) {
+                case "NEW" -> {
+                    Difficulty difficulty = Difficulty.valueOf(words[1].toUpperCase(Locale.ROOT));
+                    long seed = words.length > 2 ? Long.parseLong(words[2]) : System.nanoTime();
+                    long id = registry.create(difficulty, seed);
+                    return "OK " + id + " " + difficulty.getRows() + " " + difficulty.getCols();
+                }
+                case "REVEAL", "FLAG", "CHORD" -> {
+                    Move move = Move.valueOf(words[0].toUpperCase(Locale.ROOT));
+                    MoveResult result = registry.play(Long.parseLong(words[1]), move,
+                            Integer.parseInt(words[2]), Integer.parseInt(words[3])).get();
+                    return "OK " + result.changed() + " " + result.outcome();
+                }
+                case "SHOW" -> {
+                    return "OK " + registry.render(Long.parseLong(words[1])).get();
+                }
+                case "END" -> {
+                    return registry.remove(Long.parseLong(words[1])) ? "OK" : "ERR No game with id " + words[1];
+                }
+                case "COUNT" -> {
+                    return "OK " + registry.size();
+                }
+                case "TOP" -> {
+                    Difficulty difficulty = Difficulty.valueOf(words[1].toUpperCase(Locale.ROOT));
+                    int n = words.length > 2 ? Integer.parseInt(words[2]) : 10;
+                    StringBuilder response = new StringBuilder("OK");
+                    double[] times = registry.getLeaderboard().getTopTimes(difficulty.getName());
+                    for (int i = 0; i < Math.min(n, times.length); i++)
+                        response.append(' ').append(times[i]);
+                    return response.toString();
+                }
+                case "RANK" -> {
+                    Difficulty difficulty = Difficulty.valueOf(words[1].toUpperCase(Locale.ROOT));
+                    double percentile = registry.getLeaderboard().getPercentile(difficulty.getName(),
+                            Double.parseDouble(words[2]));
+                    return Double.isNaN(percentile) ? "ERR No games won at " + difficulty.getName()
+                            : String.format(Locale.ROOT, "OK %.1f", percentile);
+                }
+                default -> {
+                    return "ERR Unknown request " + words[0];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return "ERR Missing arguments";
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        } catch (ExecutionException | CompletionException e) {
+            return "ERR " + e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "ERR Interrupted";
+        }
+    }
+
+    /**
+     * @return The port the server is listening on.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections and closes the ones that are open.
+     * @throws IOException If closing the server socket fails.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : open)
+            socket.close();
+        connections.shutdown();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        try (GameRegistry registry = new GameRegistry(); GameServer server = new GameServer(registry, port)) {
+            server.start();
+            System.out.println("Serving games on " + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort());
+            Thread.currentThread().join(); // serve until the process is stopped
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package Server;
+
+import Models.BoardState;
+import Models.Difficulty;
+
+/**
+ * The state of one hosted game, kept as small as possible so that a registry can hold a great many of them.
+ *
+ * A game that has not had its first reveal yet is only its id, difficulty and seed, since the mines are placed
+ * from the seed on the first reveal. Afterwards it also holds its BoardState, which costs about two bytes a tile.
+ * Everything else a move needs, like the grid and the reveal stack, belongs to the thread playing the move
+ * and is shared by every game on that thread.
+ *
+ * A session is only ever changed, and its board only ever read, on the thread its registry assigns to it.
+ * Whether the game is over and won can be read from any thread, since those are volatile.
+ */
+public final class GameSession {
+
+    private final long id;
+    private final Difficulty difficulty;
+    private final long seed;
+    private BoardState state;
+    private volatile boolean over, won;
+    private long startNanos; // when the first reveal was played
+
+    /**
+     * Creates a game whose mines have not been placed yet.
+     *
+     * @param id The id the game is addressed by.
+     * @param difficulty The difficulty, which sets the board size and number of mines.
+     * @param seed The seed the mines will be placed from.
+     */
+    GameSession(long id, Difficulty difficulty, long seed) {
+        this.id = id;
+        this.difficulty = difficulty;
+        this.seed = seed;
+    }
+
+    /**
+     * Stores the result of a move.
+     *
+     * @param state The state of the board, or null if the mines have still not been placed.
+     * @param over Whether the game is over.
+     * @param won Whether the player won.
+     */
+    void update(BoardState state, boolean over, boolean won) {
+        this.state = state;
+        this.won = won; // first, so that any thread which sees the game over also sees whether it was won
+        this.over = over;
+    }
+
+    /**
+     * Notes when the game's first reveal was played, which its time is counted from.
+     * @param nanos The time of the first reveal, from System.nanoTime.
+     */
+    void start(long nanos) {
+        startNanos = nanos;
+    }
+
+    /**
+     * @return When the game's first reveal was played, from System.nanoTime.
+     */
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return The id the game is addressed by.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return The difficulty of the game.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @return The seed the mines are placed from.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The state of the board, or null if the mines have not been placed yet.
+     */
+    BoardState getState() {
+        return state;
+    }
+
+    /**
+     * @return true if the game is over.
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * @return true if the game is over and the player won.
+     */
+    public boolean isWon() {
+        return won;
+    }
+}
@@ -0,0 +1,10 @@
+package Server;
+
+/**
+ * The moves a player can make in a hosted game, which match the moves of the GameEngine.
+ */
+public enum Move {
+    REVEAL,
+    FLAG,
+    CHORD
+}
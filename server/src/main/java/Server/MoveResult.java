@@ -0,0 +1,18 @@
+package Server;
+
+/**
+ * What happened when a move was played in a hosted game.
+ *
+ * @param changed The number of tiles whose status changed.
+ * @param over Whether the game is now over.
+ * @param won Whether the game is over and the player won.
+ */
+public record MoveResult(int changed, boolean over, boolean won) {
+
+    /**
+     * @return "WON", "LOST" or "PLAYING", as the state of the game is written in the line protocol.
+     */
+    public String outcome() {
+        return !over ? "PLAYING" : won ? "WON" : "LOST";
+    }
+}
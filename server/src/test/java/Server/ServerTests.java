@@ -0,0 +1,108 @@
+package Server;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import Models.Difficulty;
+
+public class ServerTests {
+
+	long SEED = 57;
+
+	@Test
+	void testRegistry() throws Exception {
+		try (GameRegistry registry = new GameRegistry(4)) {
+			// games with the same seed play out the same, whichever stripe they are on
+			long first = registry.create(Difficulty.NORMAL, SEED);
+			long second = registry.create(Difficulty.NORMAL, SEED);
+			Assertions.assertNull(registry.get(first).getState()); // no board until the first reveal
+
+			MoveResult result = registry.play(first, Move.REVEAL, 8, 8).get();
+			Assertions.assertTrue(result.changed() > 0);
+			Assertions.assertEquals("PLAYING", result.outcome());
+			Assertions.assertEquals(result, registry.play(second, Move.REVEAL, 8, 8).get());
+			Assertions.assertEquals(registry.render(first).get(), registry.render(second).get());
+			Assertions.assertEquals(16 * 24 + 15, registry.render(first).get().length());
+
+			// flags toggle, and moves off the board or on missing games fail
+			Assertions.assertEquals(1, registry.play(first, Move.FLAG, 0, 0).get().changed()
+					+ registry.play(first, Move.FLAG, 8, 8).get().changed());
+			Assertions.assertThrows(Exception.class, () -> registry.play(first, Move.REVEAL, 16, 0).get());
+			Assertions.assertTrue(registry.remove(second));
+			Assertions.assertThrows(Exception.class, () -> registry.play(second, Move.REVEAL, 0, 0).get());
+		}
+	}
+
+	@Test
+	void testLeaderboard() throws Exception {
+		// winning games puts their times on the registry's leaderboard, which the protocol can ask about
+		try (GameRegistry registry = new GameRegistry(2); GameServer server = new GameServer(registry, 0)) {
+			Assertions.assertEquals("ERR No games won at Easy", server.handle("RANK easy 10"));
+			for (int game = 0; game < 3; game++) {
+				long id = registry.create(Difficulty.EASY, SEED + game);
+				Assertions.assertEquals("OK", server.handle("TOP easy").substring(0, 2));
+				registry.play(id, Move.REVEAL, 8, 8).get();
+				for (int row = 0; row < 16; row++)
+					for (int col = 0; col < 20; col++)
+						if (!registry.get(id).getState().isMine(row * 20 + col))
+							registry.play(id, Move.REVEAL, row, col).get();
+				Assertions.assertTrue(registry.get(id).isWon());
+				registry.play(id, Move.REVEAL, 0, 0).get(); // moves after the win don't count it again
+			}
+			Assertions.assertEquals(3, registry.getLeaderboard().getCount("Easy"));
+			Assertions.assertEquals(3, server.handle("TOP EASY").split(" ").length - 1);
+			Assertions.assertEquals(2, server.handle("TOP easy 1").split(" ").length);
+			Assertions.assertEquals("OK 100.0", server.handle("RANK easy 3600"));
+			Assertions.assertEquals("OK 0.0", server.handle("RANK easy 0"));
+		}
+	}
+
+	@Test
+	void testManyIdleGames() throws Exception {
+		// idle games hold no board, so a hundred thousand of them are cheap
+		try (GameRegistry registry = new GameRegistry(2)) {
+			for (int i = 0; i < 100_000; i++)
+				registry.create(Difficulty.values()[i % Difficulty.values().length], i);
+			Assertions.assertEquals(100_000, registry.size());
+			Assertions.assertEquals("PLAYING", registry.play(99_999, Move.REVEAL, 5, 5).get().outcome());
+		}
+	}
+
+	@Test
+	void testLineProtocol() throws Exception {
+		try (GameRegistry registry = new GameRegistry(2); GameServer server = new GameServer(registry, 0)) {
+			server.start();
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+				 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+				 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+				out.println("NEW very_easy 57");
+				String[] created = in.readLine().split(" ");
+				Assertions.assertEquals("OK", created[0]);
+				Assertions.assertEquals("16", created[2]);
+
+				out.println("REVEAL " + created[1] + " 8 8");
+				Assertions.assertTrue(in.readLine().matches("OK \\d+ (PLAYING|WON)"));
+				out.println("SHOW " + created[1]);
+				Assertions.assertTrue(in.readLine().startsWith("OK "));
+				out.println("COUNT");
+				Assertions.assertEquals("OK 1", in.readLine());
+
+				out.println("REVEAL 12345 0 0");
+				Assertions.assertTrue(in.readLine().startsWith("ERR"));
+				out.println("NEW impossible");
+				Assertions.assertTrue(in.readLine().startsWith("ERR"));
+				out.println("END " + created[1]);
+				Assertions.assertEquals("OK", in.readLine());
+				out.println("QUIT");
+				Assertions.assertNull(in.readLine());
+			}
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package Simulation;
+
+import java.util.random.RandomGenerator;
+
+import Models.BoardState;
+import Models.GameEngine;
+
+/**
+ * The simplest strategy there is: reveal a random unguessed tile every move, without ever thinking about it.
+ * Its win rate is a baseline for how much of a board's difficulty comes down to luck alone.
+ */
+public class RandomStrategy implements Strategy {
+
+    @Override
+    public void move(GameEngine game, RandomGenerator random) {
+        guess(game, random);
+    }
+
+    /**
+     * Reveals a random unguessed tile. There is always at least one while the game is not over,
+     * since every tile holding a mine is still unguessed.
+     *
+     * @param game The game to play, which is not over yet.
+     * @param random The random number generator used to pick the tile.
+     */
+    static void guess(GameEngine game, RandomGenerator random) {
+        int size = game.getGrid().size();
+        int cell;
+        do {
+            cell = random.nextInt(size);
+        } while (game.getStatus(cell) != BoardState.UNGUESSED);
+        game.reveal(cell);
+    }
+}
@@ -0,0 +1,59 @@
+package Simulation;
+
+import java.util.random.RandomGenerator;
+
+import Models.BoardState;
+import Models.GameEngine;
+import Models.HexGrid;
+
+/**
+ * A strategy that plays the way most people do, using only the two basic rules of Minesweeper:
+ * if a revealed tile already has as many flags around it as its number, every other tile around it is safe,
+ * and if it has exactly as many unrevealed tiles around it as its number, they are all mines.
+ *
+ * Each move applies both rules to every revealed tile once, and only guesses a random tile if neither
+ * rule found anything to do. The first move reveals the middle of the board.
+ */
+public class SimpleStrategy implements Strategy {
+
+    private final int[] neighbors = new int[HexGrid.NEIGHBORS];
+
+    @Override
+    public void move(GameEngine game, RandomGenerator random) {
+        HexGrid grid = game.getGrid();
+        if (!game.isGenerated()) {
+            game.reveal(grid.index(grid.getRows() / 2, grid.getCols() / 2));
+            return;
+        }
+
+        boolean progress = false;
+        for (int cell = 0; cell < grid.size() && !game.isOver(); cell++) {
+            if (game.getStatus(cell) != BoardState.GUESSED || game.getMineCount(cell) == 0) continue;
+
+            int count = grid.neighbors(cell, neighbors);
+            int unguessed = 0, flagged = 0;
+            for (int i = 0; i < count; i++) {
+                byte status = game.getStatus(neighbors[i]);
+                if (status == BoardState.UNGUESSED) unguessed++;
+                else if (status == BoardState.FLAGGED) flagged++;
+            }
+            if (unguessed == 0) continue;
+
+            int mines = game.getMineCount(cell);
+            if (flagged == mines) {
+                // every mine around it is flagged, so the rest are safe
+                game.chord(cell);
+                progress = true;
+            } else if (flagged + unguessed == mines) {
+                // every tile left around it must be a mine
+                for (int i = 0; i < count; i++)
+                    if (game.getStatus(neighbors[i]) == BoardState.UNGUESSED)
+                        game.toggleFlag(neighbors[i]);
+                progress = true;
+            }
+        }
+
+        if (!progress && !game.isOver())
+            RandomStrategy.guess(game, random);
+    }
+}
@@ -0,0 +1,236 @@
+package Simulation;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import Models.Difficulty;
+import Models.GameEngine;
+
+/**
+ * A command line program that plays a large number of games with a strategy, without any display,
+ * and reports how many were won and how quickly they were played.
+ *
+ * This is used to calibrate the dividers of the difficulty settings, by trying out other dividers
+ * and seeing how the win rate changes. It only needs the Models package, not JavaFX.
+ *
+ * The games are split into batches which are played on a ForkJoinPool. Each thread keeps its own engine
+ * and strategy for every game it plays, and each batch gets its own SplittableRandom split off from the seed,
+ * so the threads share nothing but the totals they add to at the end of each batch. The batches are split the
+ * same way however many threads there are, so the same seed always gives the same results.
+ *
+ * Usage: SimulationRunner [--difficulty NAME] [--games N] [--seed N] [--strategy random|simple] [--divider N] [--threads N]
+ * The difficulty may also be "All", to play the same number of games on every difficulty.
+ */
+public class SimulationRunner {
+
+    /**
+     * The most games played as one batch, before they are split between threads.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The number of buckets in the histogram of how far through their games the strategy got.
+     */
+    public static final int PROGRESS_BUCKETS = 11;
+
+    /**
+     * The results of playing a batch of games.
+     *
+     * @param games The number of games played.
+     * @param wins The number of games won.
+     * @param revealed The total number of tiles revealed, over every game.
+     * @param nanos The time spent playing, in nanoseconds.
+     * @param progress A histogram of how much of each board was revealed when its game ended. Bucket i counts
+     *                 the games that revealed at least i tenths of the safe tiles, so the last bucket holds the wins.
+     */
+    public record Result(long games, long wins, long revealed, long nanos, long[] progress) {
+
+        /**
+         * @return The fraction of games that were won, from 0 to 1.
+         */
+        public double winRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+
+        /**
+         * @return The number of games played per second.
+         */
+        public double gamesPerSecond() {
+            return nanos == 0 ? 0 : games * 1e9 / nanos;
+        }
+    }
+
+    /**
+     * The running totals of a simulation, which every thread adds to once per batch.
+     */
+    private static final class Totals {
+        final LongAdder wins = new LongAdder();
+        final LongAdder revealed = new LongAdder();
+        final LongAdder[] progress = new LongAdder[PROGRESS_BUCKETS];
+
+        Totals() {
+            for (int i = 0; i < PROGRESS_BUCKETS; i++)
+                progress[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * The engine and strategy a single thread plays all of its games with.
+     */
+    private static final class Worker {
+        final GameEngine engine;
+        final Strategy strategy;
+        // the totals for the current batch, kept here so the adders are only touched once per batch
+        long wins, revealed;
+        final long[] progress = new long[PROGRESS_BUCKETS];
+
+        Worker(GameEngine engine, Strategy strategy) {
+            this.engine = engine;
+            this.strategy = strategy;
+        }
+    }
+
+    /**
+     * A range of games, which is either played by the current thread or split in half to be shared out.
+     */
+    private static final class Batch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long games;
+        private final SplittableRandom random;
+        private final ThreadLocal<Worker> workers;
+        private final Totals totals;
+
+        Batch(long games, SplittableRandom random, ThreadLocal<Worker> workers, Totals totals) {
+            this.games = games;
+            this.random = random;
+            this.workers = workers;
+            this.totals = totals;
+        }
+
+        @Override
+        protected void compute() {
+            if (games > BATCH_SIZE) {
+                long half = games / 2;
+                invokeAll(new Batch(half, random.split(), workers, totals),
+                        new Batch(games - half, random, workers, totals));
+                return;
+            }
+
+            Worker worker = workers.get();
+            GameEngine engine = worker.engine;
+            for (long game = 0; game < games; game++) {
+                engine.newGame(random);
+                while (!engine.isOver())
+                    worker.strategy.move(engine, random);
+
+                if (engine.isWon()) worker.wins++;
+                int revealed = engine.getNumRevealed();
+                int safe = revealed + engine.getRemainingSafe();
+                worker.revealed += revealed;
+                worker.progress[safe == 0 ? PROGRESS_BUCKETS - 1 : revealed * (PROGRESS_BUCKETS - 1) / safe]++;
+            }
+
+            totals.wins.add(worker.wins);
+            totals.revealed.add(worker.revealed);
+            for (int i = 0; i < PROGRESS_BUCKETS; i++)
+                totals.progress[i].add(worker.progress[i]);
+            worker.wins = worker.revealed = 0;
+            Arrays.fill(worker.progress, 0);
+        }
+    }
+
+    /**
+     * Plays a number of games on boards of the same size, shared out between a number of threads.
+     *
+     * @param rows The number of rows in each board.
+     * @param cols The number of columns in each board.
+     * @param numMines The number of mines in each board.
+     * @param games The number of games to play.
+     * @param strategies Creates the strategy to play with, once for each thread.
+     * @param seed The seed for placing the mines and for the strategy's guesses, so runs can be repeated.
+     * @param threads The number of threads to play on.
+     * @return The results of the games.
+     */
+    public static Result run(int rows, int cols, int numMines, long games, Supplier<Strategy> strategies,
+                             long seed, int threads) {
+        Totals totals = new Totals();
+        // each thread of the pool builds its own engine the first time it plays a batch
+        ThreadLocal<Worker> workers = ThreadLocal.withInitial(() -> new Worker(
+                new GameEngine(rows, cols, numMines, new SplittableRandom(seed)), strategies.get()));
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            pool.invoke(new Batch(games, new SplittableRandom(seed), workers, totals));
+        } finally {
+            pool.shutdown();
+        }
+        long nanos = System.nanoTime() - start;
+
+        long[] progress = new long[PROGRESS_BUCKETS];
+        for (int i = 0; i < PROGRESS_BUCKETS; i++)
+            progress[i] = totals.progress[i].sum();
+        return new Result(games, totals.wins.sum(), totals.revealed.sum(), nanos, progress);
+    }
+
+    /**
+     * Finds the strategy with the given name.
+     * @param name The name of the strategy, "random" or "simple".
+     * @return A supplier of new instances of the strategy.
+     */
+    public static Supplier<Strategy> strategy(String name) {
+        return switch (name.toLowerCase()) {
+            case "random" -> RandomStrategy::new;
+            case "simple" -> SimpleStrategy::new;
+            default -> throw new IllegalArgumentException("Unknown strategy: " + name);
+        };
+    }
+
+    public static void main(String[] args) {
+        String difficulty = "Normal", strategyName = "simple";
+        long games = 100_000, seed = System.nanoTime();
+        int divider = 0; // 0 keeps each difficulty's own divider
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--difficulty" -> difficulty = args[++i];
+                    case "--games" -> games = Long.parseLong(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--strategy" -> strategyName = args[++i];
+                    case "--divider" -> divider = Integer.parseInt(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            strategy(strategyName); // fail before playing anything if the name is wrong
+            if (threads < 1) throw new IllegalArgumentException("There must be at least one thread");
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: SimulationRunner [--difficulty NAME|All] [--games N] [--seed N]"
+                    + " [--strategy random|simple] [--divider N] [--threads N]");
+            System.exit(1);
+            return;
+        }
+
+        Difficulty[] difficulties = difficulty.equalsIgnoreCase("All")
+                ? Difficulty.values() : new Difficulty[]{Difficulty.fromName(difficulty)};
+        System.out.println("strategy " + strategyName + ", " + games + " games each, seed " + seed
+                + ", " + threads + " threads");
+        for (Difficulty d : difficulties) {
+            int div = divider > 0 ? divider : d.getDivider();
+            int mines = d.getRows() * d.getCols() / div;
+            Result result = run(d.getRows(), d.getCols(), mines, games, strategy(strategyName), seed, threads);
+            System.out.printf("%-10s %dx%d, divider %d (%d mines): won %d of %d (%.2f%%), %.0f games/s%n",
+                    d.getName(), d.getRows(), d.getCols(), div, mines, result.wins(), result.games(),
+                    100 * result.winRate(), result.gamesPerSecond());
+            System.out.println("           revealed by tenths: " + Arrays.toString(result.progress()));
+        }
+    }
+}
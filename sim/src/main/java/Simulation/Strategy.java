@@ -0,0 +1,25 @@
+package Simulation;
+
+import java.util.random.RandomGenerator;
+
+import Models.GameEngine;
+
+/**
+ * A way of playing Minesweeper, used by the SimulationRunner to play games without anyone at the controls.
+ *
+ * A strategy is handed a game that is not over yet and makes at least one move on it, such as revealing,
+ * flagging or chording around tiles. It should only look at the statuses of tiles and the mine counts of
+ * revealed tiles, like a real player would, rather than peeking at where the mines are.
+ *
+ * The runner gives each thread its own instance, so a strategy may keep buffers without synchronizing them.
+ */
+public interface Strategy {
+
+    /**
+     * Makes at least one move in a game. The first move of a game must be a reveal, which places the mines.
+     *
+     * @param game The game to play, which is not over yet.
+     * @param random The random number generator to use for any guesses.
+     */
+    void move(GameEngine game, RandomGenerator random);
+}
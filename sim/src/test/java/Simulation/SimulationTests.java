@@ -0,0 +1,35 @@
+package Simulation;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import Models.Difficulty;
+
+public class SimulationTests {
+
+	long SEED = 57;
+
+	@Test
+	void testSimpleStrategy() {
+		// the simple strategy should win most very easy games, and every game should finish
+		SimulationRunner.Result result = SimulationRunner.run(Difficulty.VERY_EASY.getRows(),
+				Difficulty.VERY_EASY.getCols(), Difficulty.VERY_EASY.getNumMines(), 100, SimpleStrategy::new, SEED, 1);
+		Assertions.assertEquals(100, result.games());
+		Assertions.assertTrue(result.wins() > 50);
+	}
+
+	@Test
+	void testParallelSimulation() {
+		// the results only depend on the seed, not on how many threads shared the games
+		int rows = Difficulty.NORMAL.getRows(), cols = Difficulty.NORMAL.getCols();
+		SimulationRunner.Result one = SimulationRunner.run(rows, cols, 76, 2000, SimpleStrategy::new, SEED, 1);
+		SimulationRunner.Result four = SimulationRunner.run(rows, cols, 76, 2000, SimpleStrategy::new, SEED, 4);
+		Assertions.assertEquals(one.wins(), four.wins());
+		Assertions.assertEquals(one.revealed(), four.revealed());
+		Assertions.assertArrayEquals(one.progress(), four.progress());
+		Assertions.assertEquals(one.wins(), one.progress()[SimulationRunner.PROGRESS_BUCKETS - 1]);
+		Assertions.assertEquals(2000, Arrays.stream(one.progress()).sum());
+	}
+}
@@ -0,0 +1,616 @@
+package View;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import java.util.Arrays;
+import Controllers.MineSweeperController;
+import Models.BoardChanges;
+import Models.HexGrid;
+import Utils.GUESS_STATUS;
+
+import static Utils.GUESS_STATUS.*;
+
+/**
+ * This class draws the board on a single Canvas, and turns clicks on it back into tiles.
+ *
+ * A node per tile, with its own mouse handlers, is fine for a few hundred tiles but not for the millions a custom
+ * board can have, so instead only the tiles inside the viewport are drawn, straight from the controller.
+ * Dragging pans the board and scrolling zooms it around the mouse, which draws everything in sight again,
+ * but otherwise the canvas keeps what it drew: a move only draws the tiles it changed that are in sight,
+ * and an animation only draws the few tiles around it. Changes are collected until the next frame,
+ * so a frame costs the same however large the board is.
+ *
+ * Every tile looks like one of a few dozen sprites: one for each status, one for each number on a revealed tile,
+ * the hint, and a range of colors for the odds. These are drawn once into an atlas image for the current zoom,
+ * so drawing a tile is just copying its sprite, rather than filling and outlining a polygon and laying out text.
+ *
+ * Tiles are pointy-topped hexagons in offset rows, with odd rows shifted half a tile to the right, the same as
+ * HexGrid. Finding the tile under the mouse is done by turning the point into axial hex coordinates and rounding
+ * them to the nearest tile, so it takes the same time however big the board is.
+ *
+ * Once the tiles are only a few pixels across, drawing each one as a polygon is both slow and pointless, so each
+ * pixel is colored by the tile under it instead, which bounds the work by the size of the canvas. The colors are
+ * kept between frames, so after a move only the few pixels under the changed tiles are worked out and written.
+ */
+public class HexCanvas extends Canvas {
+
+    private static final double SQRT3 = Math.sqrt(3);
+    private static final double MAX_RADIUS = 60;
+    // below this radius each pixel is colored by the tile under it
+    private static final double PIXEL_RADIUS = 3;
+    // below this radius the outlines and numbers would just be noise
+    private static final double DETAIL_RADIUS = 6;
+    // how much one notch of the mouse wheel zooms by
+    private static final double ZOOM_STEP = 1.15;
+    private static final long POP_NANOS = 600_000_000L;
+    private static final long BOMB_NANOS = 1_000_000_000L;
+    // how far from its center an animated tile can reach, in radii, once grown and turned
+    private static final double ANIM_REACH = 1.2;
+
+    // the sprites in the atlas; a revealed tile's sprite is GUESSED_SPRITE plus its number
+    private static final int UNGUESSED_SPRITE = 0, FLAGGED_SPRITE = 1, BOMB_SPRITE = 2, HINT_SPRITE = 3;
+    private static final int GUESSED_SPRITE = 4;
+    private static final int HEAT_SPRITE = GUESSED_SPRITE + HexGrid.NEIGHBORS + 1;
+    // the odds are rounded to this many colors
+    private static final int HEAT_LEVELS = 32;
+    private static final int NUM_SPRITES = HEAT_SPRITE + HEAT_LEVELS;
+    private static final int ATLAS_COLUMNS = 8;
+    private static final Color[] SPRITE_COLORS = spriteColors();
+    private static final int[] SPRITE_ARGB = Arrays.stream(SPRITE_COLORS).mapToInt(HexCanvas::argb).toArray();
+    // past this many changed tiles in a frame, everything in sight is drawn instead
+    private static final int MAX_DIRTY = 1024;
+
+    private final MineSweeperController controller;
+    private final int rows, cols;
+    private final double minRadius;
+    // the distance from the center of a tile to its corners, in pixels
+    private double radius;
+    // where the center of the tile in row 0, column 0 is on the canvas
+    private double originX, originY;
+    private double dragX, dragY;
+
+    private double[][] odds; // null unless the odds are shown
+    private int hintCell = -1;
+
+    // what has to be drawn on the next frame
+    private boolean repaintAll;
+    private final int[] dirtyCells = new int[MAX_DIRTY];
+    private int numDirty;
+
+    // the tiles being animated, by index, when each animation started, and whether it's a bomb
+    private int[] animCells = new int[8];
+    private long[] animStarts = new long[8];
+    private boolean[] animBombs = new boolean[8];
+    private int numAnims;
+
+    // the sprites, drawn for tiles of atlasRadius
+    private Image atlas;
+    private double atlasRadius;
+    private int spriteWidth, spriteHeight;
+    // the corners of the sprite being drawn, reused for every sprite
+    private final double[] cornersX = new double[6], cornersY = new double[6];
+    private int[] pixels; // only used for drawing pixel by pixel, and kept so a move only redoes its tiles
+    private int pixelsWidth;
+
+    private final AnimationTimer painter = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            paint(now);
+            if (numAnims == 0) {
+                stop();
+                painting = false;
+            }
+        }
+    };
+    private boolean painting;
+
+    /**
+     * Creates the canvas for a board, as large as the board at the given radius, but no larger than the space given.
+     * It starts out showing the middle of the board.
+     *
+     * @param controller The controller for the game, which tiles are read from and clicks are sent to.
+     * @param maxWidth The most room the canvas can take up across.
+     * @param maxHeight The most room the canvas can take up down.
+     * @param radius The size to start the tiles at, from their center to their corners.
+     */
+    public HexCanvas(MineSweeperController controller, double maxWidth, double maxHeight, double radius) {
+        this.controller = controller;
+        this.rows = controller.getRows();
+        this.cols = controller.getCols();
+        this.radius = radius;
+        setWidth(Math.min(boardWidth(), maxWidth));
+        setHeight(Math.min(boardHeight(), maxHeight));
+        minRadius = Math.min(radius, Math.min(getWidth() / ((cols + 0.5) * SQRT3), getHeight() / (rows * 1.5 + 0.5)));
+        originX = getWidth() / 2 - (cols - 0.5) * tileWidth() / 2;
+        originY = getHeight() / 2 - (rows - 1) * 0.75 * radius;
+        clampOrigin();
+
+        setOnMousePressed(this::press);
+        setOnMouseDragged(this::drag);
+        setOnMouseClicked(this::click);
+        setOnScroll(this::scroll);
+        redraw();
+    }
+
+    //////////// MOUSE ////////////
+
+    private void press(MouseEvent e) {
+        dragX = e.getX();
+        dragY = e.getY();
+    }
+
+    /**
+     * Pans the board along with the mouse.
+     */
+    private void drag(MouseEvent e) {
+        originX += e.getX() - dragX;
+        originY += e.getY() - dragY;
+        dragX = e.getX();
+        dragY = e.getY();
+        clampOrigin();
+        redraw();
+    }
+
+    /**
+     * Plays a move on the tile that was clicked, unless the mouse moved in between, since that was a drag.
+     * Clicking reveals a tile, double clicking reveals around it, and right clicking flags it.
+     */
+    private void click(MouseEvent e) {
+        if (!e.isStillSincePress()) return;
+        int cell = cellAt(e.getX(), e.getY());
+        if (cell < 0) return;
+        int row = cell / cols, col = cell % cols;
+
+        if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+            // double click to reveal around
+            controller.updateTilesAround(row, col);
+
+        } else if (e.getButton() == MouseButton.PRIMARY) {
+            // "step on" the tile
+            controller.updateTileStatus(row, col, GUESSED);
+
+            if (e.getClickCount() == 1) {
+                GUESS_STATUS status = controller.getTileStatus(row, col);
+                if (status == GUESSED)
+                    animate(cell, false);
+                else if (status == BOMB)
+                    animate(cell, true);
+            }
+
+        } else if (e.getButton() == MouseButton.SECONDARY) {
+            controller.updateTileStatus(row, col, FLAGGED); // flag the tile
+        }
+    }
+
+    /**
+     * Zooms in or out around the mouse, so the tile under it stays put.
+     */
+    private void scroll(ScrollEvent e) {
+        double newRadius = Math.max(minRadius, Math.min(MAX_RADIUS, radius * Math.pow(ZOOM_STEP, e.getDeltaY() / 40)));
+        double scale = newRadius / radius;
+        originX = e.getX() - (e.getX() - originX) * scale;
+        originY = e.getY() - (e.getY() - originY) * scale;
+        radius = newRadius;
+        clampOrigin();
+        redraw();
+    }
+
+    /**
+     * Finds the tile under a point on the canvas.
+     *
+     * The point is turned into fractional axial coordinates, where q runs along the rows and r down them at an angle,
+     * then rounded to the nearest tile in cube coordinates (q, r, -q - r). Rounding each on its own can give a point
+     * that isn't a tile, so the one that was rounded furthest is worked out from the other two instead.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @return The index of the tile, row * cols + col, or -1 if the point is off the board.
+     */
+    public int cellAt(double x, double y) {
+        double px = (x - originX) / radius, py = (y - originY) / radius;
+        double q = SQRT3 / 3 * px - py / 3, r = 2.0 / 3 * py, s = -q - r;
+        long roundQ = Math.round(q), roundR = Math.round(r), roundS = Math.round(s);
+        double dq = Math.abs(roundQ - q), dr = Math.abs(roundR - r), ds = Math.abs(roundS - s);
+        if (dq > dr && dq > ds)
+            roundQ = -roundR - roundS;
+        else if (dr > ds)
+            roundR = -roundQ - roundS;
+
+        long row = roundR;
+        long col = roundQ + (roundR - (roundR & 1)) / 2; // back to offset rows
+        if (row < 0 || row >= rows || col < 0 || col >= cols)
+            return -1;
+        return (int) (row * cols + col);
+    }
+
+    //////////// WHAT TO SHOW ////////////
+
+    /**
+     * Draws every tile in sight again on the next frame, however many times this is called before then.
+     * This is needed when the whole view changes, such as after panning or zooming.
+     */
+    public void redraw() {
+        repaintAll = true;
+        schedule();
+    }
+
+    /**
+     * Draws the tiles that changed in a move on the next frame. Tiles out of sight are left alone,
+     * since they are drawn fresh once they're panned into view.
+     * @param changes The tiles changed since the last move, which are copied since the model reuses them.
+     */
+    public void tilesChanged(BoardChanges changes) {
+        for (int i = 0; i < changes.size() && !repaintAll; i++)
+            markDirty(changes.getRow(i), changes.getCol(i));
+        schedule();
+    }
+
+    /**
+     * Adds a tile to those drawn on the next frame, if it's in sight.
+     */
+    private void markDirty(int row, int col) {
+        if (!inSight(centerX(row, col), centerY(row)))
+            return;
+        if (numDirty == dirtyCells.length)
+            repaintAll = true; // this many tiles are cheaper to draw all at once
+        else
+            dirtyCells[numDirty++] = row * cols + col;
+    }
+
+    /**
+     * Colors the unrevealed tiles by their chance of being a mine.
+     * @param odds The chances by row and column, or null to go back to the plain colors.
+     */
+    public void setOdds(double[][] odds) {
+        this.odds = odds;
+        redraw();
+    }
+
+    /**
+     * Highlights a tile until it is revealed or flagged, moving the board to it if it's out of sight.
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     */
+    public void showHint(int row, int col) {
+        if (hintCell >= 0)
+            markDirty(hintCell / cols, hintCell % cols); // back to its own color
+        hintCell = row * cols + col;
+        double x = centerX(row, col), y = centerY(row);
+        if (!inSight(x, y)) {
+            originX += getWidth() / 2 - x;
+            originY += getHeight() / 2 - y;
+            clampOrigin();
+            redraw();
+        }
+        animate(hintCell, false); // which draws it in its new color too
+    }
+
+    /**
+     * Starts animating a tile, unless it is being animated already. Revealed tiles pop up and down,
+     * while bombs grow and spin.
+     */
+    private void animate(int cell, boolean bomb) {
+        for (int i = 0; i < numAnims; i++)
+            if (animCells[i] == cell) return;
+        if (numAnims == animCells.length) {
+            animCells = Arrays.copyOf(animCells, numAnims * 2);
+            animStarts = Arrays.copyOf(animStarts, numAnims * 2);
+            animBombs = Arrays.copyOf(animBombs, numAnims * 2);
+        }
+        animCells[numAnims] = cell;
+        animStarts[numAnims] = System.nanoTime();
+        animBombs[numAnims++] = bomb;
+        schedule();
+    }
+
+    private void schedule() {
+        if (!painting) {
+            painting = true;
+            painter.start();
+        }
+    }
+
+    //////////// DRAWING ////////////
+
+    /**
+     * Brings the canvas up to date: everything in sight if the view changed, otherwise only the tiles that changed,
+     * then the animated tiles on top of them.
+     * @param now The time of the frame, in nanoseconds.
+     */
+    private void paint(long now) {
+        GraphicsContext gc = getGraphicsContext2D();
+        if (radius < PIXEL_RADIUS) {
+            int width = (int) getWidth(), height = (int) getHeight();
+            if (repaintAll || pixels == null || pixels.length != width * height || pixelsWidth != width)
+                paintPixels(gc, width, height);
+            else
+                for (int i = 0; i < numDirty; i++)
+                    paintPixels(gc, dirtyCells[i], width, height);
+            repaintAll = false;
+            numDirty = 0;
+            numAnims = 0; // far too small to see
+            return;
+        }
+        if (atlasRadius != radius)
+            buildAtlas();
+
+        gc.setImageSmoothing(false); // the sprites are already drawn at the right size
+        if (repaintAll)
+            paintRegion(gc, 0, 0, getWidth(), getHeight());
+        else
+            for (int i = 0; i < numDirty; i++) {
+                int row = dirtyCells[i] / cols, col = dirtyCells[i] % cols;
+                blit(gc, row, col);
+            }
+        repaintAll = false;
+        numDirty = 0;
+
+        // put back what the animated tiles grew over last frame, then draw them again on top
+        double reach = ANIM_REACH * radius + 2; // and a little more for the smoothed edges
+        for (int i = 0; i < numAnims; i++) {
+            int row = animCells[i] / cols, col = animCells[i] % cols;
+            double x = centerX(row, col), y = centerY(row);
+            paintRegion(gc, x - reach, y - reach, x + reach, y + reach);
+        }
+        int kept = 0;
+        for (int i = 0; i < numAnims; i++) {
+            long elapsed = now - animStarts[i];
+            long length = animBombs[i] ? BOMB_NANOS : POP_NANOS;
+            if (elapsed >= length) continue; // it was put back for good above
+
+            int row = animCells[i] / cols, col = animCells[i] % cols;
+            double grow = animBombs[i] ? 0.2 : 0.1;
+            double half = animBombs[i] ? 0.4 : 0.5; // the bomb grows for 400ms then spins for the rest
+            double t = elapsed / (double) length;
+            double scale = 1 + grow * Math.max(0, 1 - Math.abs(t / half - 1));
+            int sprite = spriteFor(row, col);
+            gc.save();
+            gc.setImageSmoothing(true);
+            gc.translate(centerX(row, col), centerY(row));
+            if (animBombs[i])
+                gc.rotate(360 * t);
+            gc.scale(scale, scale);
+            gc.drawImage(atlas, spriteX(sprite), spriteY(sprite), spriteWidth, spriteHeight,
+                    -spriteWidth / 2.0, -spriteHeight / 2.0, spriteWidth, spriteHeight);
+            gc.restore();
+
+            animCells[kept] = animCells[i];
+            animStarts[kept] = animStarts[i];
+            animBombs[kept++] = animBombs[i];
+        }
+        numAnims = kept;
+    }
+
+    /**
+     * Clears a rectangle of the canvas and draws every tile that overlaps it, without touching anything outside it.
+     */
+    private void paintRegion(GraphicsContext gc, double left, double top, double right, double bottom) {
+        double rowHeight = 1.5 * radius, tileWidth = tileWidth();
+        int firstRow = Math.max(0, (int) Math.floor((top - originY) / rowHeight) - 1);
+        int lastRow = Math.min(rows - 1, (int) Math.ceil((bottom - originY) / rowHeight) + 1);
+        int firstCol = Math.max(0, (int) Math.floor((left - originX) / tileWidth) - 1);
+        int lastCol = Math.min(cols - 1, (int) Math.ceil((right - originX) / tileWidth) + 1);
+
+        gc.save();
+        gc.beginPath();
+        gc.rect(left, top, right - left, bottom - top);
+        gc.clip();
+        gc.clearRect(left, top, right - left, bottom - top);
+        for (int row = firstRow; row <= lastRow; row++)
+            for (int col = firstCol; col <= lastCol; col++)
+                blit(gc, row, col);
+        gc.restore();
+    }
+
+    /**
+     * Copies a tile's sprite from the atlas onto the canvas, lined up with whole pixels so it stays sharp.
+     * The sprite is see-through outside the hexagon, so its neighbours are left as they were.
+     */
+    private void blit(GraphicsContext gc, int row, int col) {
+        int sprite = spriteFor(row, col);
+        double x = Math.round(centerX(row, col) - spriteWidth / 2.0);
+        double y = Math.round(centerY(row) - spriteHeight / 2.0);
+        gc.drawImage(atlas, spriteX(sprite), spriteY(sprite), spriteWidth, spriteHeight,
+                x, y, spriteWidth, spriteHeight);
+    }
+
+    /**
+     * Colors each pixel of the canvas by the tile under it, for when the tiles are too small to draw one by one.
+     */
+    private void paintPixels(GraphicsContext gc, int width, int height) {
+        if (pixels == null || pixels.length != width * height)
+            pixels = new int[width * height];
+        pixelsWidth = width;
+        int lastCell = -1, lastArgb = 0;
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++) {
+                int cell = cellAt(x + 0.5, y + 0.5);
+                if (cell != lastCell) { // neighbouring pixels are often on the same tile
+                    lastCell = cell;
+                    lastArgb = cell < 0 ? 0 : SPRITE_ARGB[spriteFor(cell / cols, cell % cols)];
+                }
+                pixels[y * width + x] = lastArgb;
+            }
+        gc.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+    }
+
+    /**
+     * Colors only the pixels under one tile again, which are found within the box around its hexagon,
+     * and writes just that box to the canvas.
+     */
+    private void paintPixels(GraphicsContext gc, int cell, int width, int height) {
+        int row = cell / cols, col = cell % cols;
+        double x = centerX(row, col), y = centerY(row);
+        int left = Math.max(0, (int) Math.floor(x - tileWidth() / 2));
+        int right = Math.min(width, (int) Math.ceil(x + tileWidth() / 2) + 1);
+        int top = Math.max(0, (int) Math.floor(y - radius));
+        int bottom = Math.min(height, (int) Math.ceil(y + radius) + 1);
+        if (left >= right || top >= bottom)
+            return;
+        int argb = SPRITE_ARGB[spriteFor(row, col)];
+        for (int py = top; py < bottom; py++)
+            for (int px = left; px < right; px++)
+                if (cellAt(px + 0.5, py + 0.5) == cell)
+                    pixels[py * width + px] = argb;
+        gc.getPixelWriter().setPixels(left, top, right - left, bottom - top, PixelFormat.getIntArgbInstance(),
+                pixels, top * width + left, width);
+    }
+
+    //////////// SPRITES ////////////
+
+    /**
+     * Draws every sprite into the atlas, at the current size of the tiles. This happens again whenever the board
+     * is zoomed, which is only a few dozen hexagons, rather than for every tile drawn.
+     */
+    private void buildAtlas() {
+        spriteWidth = (int) Math.ceil(tileWidth()) + 2;
+        spriteHeight = (int) Math.ceil(2 * radius) + 2;
+        Canvas scratch = new Canvas(ATLAS_COLUMNS * spriteWidth,
+                (NUM_SPRITES + ATLAS_COLUMNS - 1) / ATLAS_COLUMNS * spriteHeight);
+        GraphicsContext gc = scratch.getGraphicsContext2D();
+
+        boolean detail = radius >= DETAIL_RADIUS;
+        // without outlines, the tiles are drawn a little larger so no gaps show between them
+        double half = tileWidth() / 2 + (detail ? 0 : 0.5), tall = radius + (detail ? 0 : 0.5);
+        gc.setFont(new Font("Helvetica", radius));
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        for (int sprite = 0; sprite < NUM_SPRITES; sprite++) {
+            double x = spriteX(sprite) + spriteWidth / 2.0, y = spriteY(sprite) + spriteHeight / 2.0;
+            cornersX[0] = x;        cornersY[0] = y - tall;
+            cornersX[1] = x + half; cornersY[1] = y - tall / 2;
+            cornersX[2] = x + half; cornersY[2] = y + tall / 2;
+            cornersX[3] = x;        cornersY[3] = y + tall;
+            cornersX[4] = x - half; cornersY[4] = y + tall / 2;
+            cornersX[5] = x - half; cornersY[5] = y - tall / 2;
+
+            gc.setFill(SPRITE_COLORS[sprite]);
+            gc.fillPolygon(cornersX, cornersY, 6);
+            if (!detail) continue;
+            gc.strokePolygon(cornersX, cornersY, 6);
+            int count = sprite - GUESSED_SPRITE;
+            if (count > 0 && count <= HexGrid.NEIGHBORS) {
+                gc.setFill(Color.BLACK);
+                gc.fillText(Integer.toString(count), x, y);
+            }
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        atlas = scratch.snapshot(parameters, null);
+        atlasRadius = radius;
+    }
+
+    /**
+     * Picks the sprite for a tile, from its status, number, the hint and the odds.
+     */
+    private int spriteFor(int row, int col) {
+        switch (controller.getTileStatus(row, col)) {
+            case UNGUESSED:
+                if (row * cols + col == hintCell)
+                    return HINT_SPRITE;
+                if (odds != null && !Double.isNaN(odds[row][col]))
+                    return HEAT_SPRITE + (int) Math.round(odds[row][col] * (HEAT_LEVELS - 1));
+                return UNGUESSED_SPRITE;
+            case GUESSED:
+                return GUESSED_SPRITE + controller.getTileMineCount(row, col);
+            case FLAGGED:
+                return FLAGGED_SPRITE;
+            default:
+                return BOMB_SPRITE;
+        }
+    }
+
+    private double spriteX(int sprite) {
+        return sprite % ATLAS_COLUMNS * spriteWidth;
+    }
+
+    private double spriteY(int sprite) {
+        return sprite / ATLAS_COLUMNS * spriteHeight;
+    }
+
+    /**
+     * Lists the color of every sprite, in the order of the sprite numbers.
+     */
+    private static Color[] spriteColors() {
+        Color[] colors = new Color[NUM_SPRITES];
+        colors[UNGUESSED_SPRITE] = TilePalette.statusColor(UNGUESSED);
+        colors[FLAGGED_SPRITE] = TilePalette.statusColor(FLAGGED);
+        colors[BOMB_SPRITE] = TilePalette.statusColor(BOMB);
+        colors[HINT_SPRITE] = TilePalette.HINT;
+        colors[GUESSED_SPRITE] = TilePalette.statusColor(GUESSED); // a revealed tile with no adjacent mines
+        for (int count = 1; count <= HexGrid.NEIGHBORS; count++)
+            colors[GUESSED_SPRITE + count] = TilePalette.mineCountColor(count);
+        for (int level = 0; level < HEAT_LEVELS; level++)
+            colors[HEAT_SPRITE + level] = TilePalette.heatColor(level / (double) (HEAT_LEVELS - 1));
+        return colors;
+    }
+
+    private static int argb(Color color) {
+        return (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+    }
+
+    //////////// GEOMETRY ////////////
+
+    private double tileWidth() {
+        return SQRT3 * radius;
+    }
+
+    private double boardWidth() {
+        return (cols + 0.5) * tileWidth();
+    }
+
+    private double boardHeight() {
+        return (rows * 1.5 + 0.5) * radius;
+    }
+
+    private double centerX(int row, int col) {
+        return originX + (col + (row & 1) * 0.5) * tileWidth();
+    }
+
+    private double centerY(int row) {
+        return originY + row * 1.5 * radius;
+    }
+
+    /**
+     * Checks if any of the tile centered on a point can be seen on the canvas.
+     */
+    private boolean inSight(double x, double y) {
+        return x > -radius && x < getWidth() + radius && y > -radius && y < getHeight() + radius;
+    }
+
+    /**
+     * Keeps the board in view: a board smaller than the canvas is centered, and a larger one can't be dragged
+     * far enough to leave a gap at its edge.
+     */
+    private void clampOrigin() {
+        double left = originX - tileWidth() / 2, top = originY - radius;
+        left = boardWidth() <= getWidth() ? (getWidth() - boardWidth()) / 2
+                : Math.max(getWidth() - boardWidth(), Math.min(0, left));
+        top = boardHeight() <= getHeight() ? (getHeight() - boardHeight()) / 2
+                : Math.max(getHeight() - boardHeight(), Math.min(0, top));
+        originX = left + tileWidth() / 2;
+        originY = top + radius;
+    }
+
+    /**
+     * @return The current size of the tiles, from their center to their corners, in pixels.
+     */
+    public double getRadius() {
+        return radius;
+    }
+}
@@ -1,20 +1,18 @@
 package View;
 
-import javafx.animation.RotateTransition;
-import javafx.animation.ScaleTransition;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
-import javafx.event.EventHandler;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.BorderPane;
@@ -23,50 +21,59 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
-import javafx.scene.shape.Polygon;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 import javafx.stage.FileChooser;
 import javafx.stage.Screen;
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.Observable;
 import java.util.Observer;
-import Models.MineSweeperTile;
+import Models.AutoSaver;
+import Models.BoardChanges;
+import Models.Difficulty;
+import Models.NoGuessGenerator;
+import Models.SavedGame;
 import Controllers.MineSweeperController;
-import javafx.util.Pair;
-
-import static Utils.GUESS_STATUS.*; // this is fine since its 4 items
 
 /**
  * This class is a graphical user interface for a game of Minesweeper.
  * 
  * The playing field is a grid of hexagonal tiles in the middle of the screen that can be clicked to reveal or flag them,
  * while a row of buttons beneath it controls saving, loading, pausing, and starting a new game.
+ * The tiles are drawn on a single HexCanvas, which can be dragged and zoomed, so a custom board can be far larger than the screen.
  * Meanwhile, a scoreboard on the left side displays the top times for the current difficulty setting,
  * and labels above the playing field show the time spent on the current game and the number of flags and mines.
  *
+ * The game being played is autosaved in the background, and picked back up the next time the game starts.
+ * The autosave can be set up with named parameters on the command line:
+ * --autosave=FILE (autosave.bin by default), --autosave-interval=MILLIS (2000 by default),
+ * and --autosave-sync=false to leave writing the file to disk up to the operating system.
+ *
  */
 @SuppressWarnings("deprecation")
 public class MineSweeper extends Application implements Observer {
 
     // game variables
     private MineSweeperController controller;
+    private AutoSaver autoSaver;
+    private final NoGuessGenerator noGuessGenerator = new NoGuessGenerator(); // shared by every game of this window
+    private boolean noGuess; // whether new games are placed so they can be won without guessing
+    private boolean showOdds; // whether unrevealed tiles are colored by their chance of being a mine
 
     // gui constants
     private static final double SCREEN_WIDTH = Screen.getPrimary().getVisualBounds().getWidth();
     private static final double SCREEN_HEIGHT = Screen.getPrimary().getVisualBounds().getHeight();
+    // the tiles start out no smaller than this on a large board, which also keeps the text readable
+    private static final double MIN_HEX_RADIUS = 12;
     private static double HEX_RADIUS = Math.min(SCREEN_HEIGHT/(16*2), 30);
-    private static double HEX_SIZE = Math.sqrt(HEX_RADIUS * HEX_RADIUS * 0.75);
     private static int
             SCENE_WIDTH = (int) (1.75*(24 + 2) * HEX_RADIUS);
     private static int SCENE_HEIGHT = (int) (1.5*(16 + 5) * HEX_RADIUS);
     private static double HEX_HEIGHT = 2* HEX_RADIUS;
-    private static double HEX_WIDTH = 2*HEX_SIZE;
     private static double MAIN_FONT_SIZE = HEX_HEIGHT/2.5;
     private static Font MAIN_FONT = new Font("Helvetica", MAIN_FONT_SIZE);
     private static final String BUTTON_STYLE = "-fx-background-color: white;"
@@ -76,40 +83,28 @@ public class MineSweeper extends Application implements Observer {
     private static final Insets DEFAULT_INSETS = new Insets(10);
     private static final Paint GREEN_BACKGROUND = Color.rgb(120, 190, 120);
     private static final Paint RED_BACKGROUND =  Color.rgb(190, 120, 120);
-    private static final HashMap<Integer, Color> MINE_COUNT_TO_COLOR = new HashMap<>();
-    private static final Color ONE_MINE = Color.rgb(207, 236, 207);
-    private static final Color TWO_MINE = Color.rgb(204, 236, 239);
-    private static final Color THREE_MINE = Color.rgb(221, 212, 232);
-    private static final Color FOUR_MINE = Color.rgb(253, 222, 238);
-    private static final Color FIVE_MINE =  Color.rgb(253, 202, 162);
-    private static final Color SIX_MINE = Color.rgb(255, 105, 97);
 
 
     // gui variables
-    // these grid variables must be global since they are used
-    // inside the update function and there is no way to pass them as parameters
-    private Hexagon[][] rectGrid;
-    private Label[][] labelGrid;
-    // so no tile is being animated multiple times at once
-    private HashSet<Pair<Integer, Integer>> animatedTiles;
+    // the board must be global since it is used
+    // inside the update function and there is no way to pass it as a parameter
+    private HexCanvas boardCanvas;
     // the stage must be global since it is used and modified in many locations.
     // it is far too much pain to make it a local variable
     // also this variable makes sense to be global since it is the main display stage
     private Stage stage;
+    // the timer and mine count are refreshed at most once per frame, and only when they change
+    private AnimationTimer hudTimer;
+    private Text mineCountText, timerText;
+    private int shownFlags;
+    private long shownHundredths;
 
     //////////// CREATING THE SCENE AND GAME ////////////
 
     /**
-     * Main method, called on program startup. It allocates colors to adjacent-mine counts before starting up the view.
+     * Main method, called on program startup. The colors of the tiles come from TilePalette.
      */
     public static void main(String[] args) {
-        // filling hashmap, this only needs to be done once
-        MINE_COUNT_TO_COLOR.put(1, ONE_MINE);
-        MINE_COUNT_TO_COLOR.put(2, TWO_MINE);
-        MINE_COUNT_TO_COLOR.put(3, THREE_MINE);
-        MINE_COUNT_TO_COLOR.put(4, FOUR_MINE);
-        MINE_COUNT_TO_COLOR.put(5, FIVE_MINE);
-        MINE_COUNT_TO_COLOR.put(6, SIX_MINE);
         launch(args);
     }
 
@@ -120,13 +115,40 @@ public class MineSweeper extends Application implements Observer {
     @Override
     public void start(Stage stage) {
     	this.stage = stage;
-    	// initialize game
-        createController("Normal");
+        Map<String, String> named = getParameters().getNamed();
+        noGuess = Boolean.parseBoolean(named.getOrDefault("no-guess", "false"));
+        Path autoSaveFile = Path.of(named.getOrDefault("autosave", "autosave.bin"));
+        autoSaver = new AutoSaver(autoSaveFile, Long.parseLong(named.getOrDefault("autosave-interval", "2000")),
+                Boolean.parseBoolean(named.getOrDefault("autosave-sync", "true")),
+                () -> controller.encodeGame(), Platform::runLater);
+
+        // pick up where the last game left off, unless it had already ended
+        SavedGame restored = AutoSaver.restore(autoSaveFile);
+        boolean resumed = false;
+        if (restored != null && !restored.isGameOver())
+            try {
+                createController(restored);
+                resumed = true;
+            } catch (IOException e) {
+                // the autosave doesn't match any difficulty, so just start over
+            }
+        if (!resumed)
+            createController("Normal");
 
         stage.setTitle("Hex Sweeper");
         stage.show();
-        stage.setOnCloseRequest(e -> controller.shutdownTimer());
-        chooseDiff();
+        stage.setOnCloseRequest(e -> hudTimer.stop());
+        if (!resumed)
+            chooseDiff();
+    }
+
+    /**
+     * Runs when the game closes, saving it one last time in the background.
+     */
+    @Override
+    public void stop() {
+        autoSaver.close();
+        noGuessGenerator.close();
     }
 
     /**
@@ -134,9 +156,6 @@ public class MineSweeper extends Application implements Observer {
      * and their relative locations in the panes.
      */
     private Scene createScene() {
-        rectGrid = new Hexagon[controller.getRows()][controller.getCols()];
-        labelGrid = new Label[controller.getRows()][controller.getCols()];
-        AnchorPane gridPane = new AnchorPane();
         HBox buttonRow = new HBox(MAIN_FONT_SIZE);
         HBox mainPane = new HBox();
         VBox mainVBox = new VBox(MAIN_FONT_SIZE);
@@ -145,31 +164,48 @@ public class MineSweeper extends Application implements Observer {
         Button saveButton = new Button("Save");
         Button loadButton = new Button("Load");
         Button resetButton = new Button("Reset");
+        Button hintButton = new Button("Hint");
+        Button oddsButton = new Button(showOdds ? "Hide odds" : "Odds");
         saveButton.setStyle(BUTTON_STYLE);
         loadButton.setStyle(BUTTON_STYLE);
         resetButton.setStyle(BUTTON_STYLE);
+        hintButton.setStyle(BUTTON_STYLE);
+        oddsButton.setStyle(BUTTON_STYLE);
         saveButton.setFont(MAIN_FONT);
         loadButton.setFont(MAIN_FONT);
         resetButton.setFont(MAIN_FONT);
+        hintButton.setFont(MAIN_FONT);
+        oddsButton.setFont(MAIN_FONT);
         setButtonActions(saveButton, loadButton, resetButton);
+        hintButton.setOnAction(e -> showHint());
+        oddsButton.setOnAction(e -> {
+            showOdds = !showOdds;
+            oddsButton.setText(showOdds ? "Hide odds" : "Odds");
+            if (controller.isGameOver()) return;
+            if (showOdds)
+                showOdds();
+            else
+                boardCanvas.setOdds(null); // back to the plain colors
+        });
         Button pause = createPauseButton();
         pause.setStyle(BUTTON_STYLE);
 
-        buttonRow.getChildren().addAll(pause, saveButton, loadButton, resetButton);
+        buttonRow.getChildren().addAll(pause, hintButton, oddsButton, saveButton, loadButton, resetButton);
         buttonRow.setAlignment(Pos.CENTER);
 
 
         // creating timer and number of bombs
 
-        // Delete the current executor for the timer; we'll make a new one in the next line
-        controller.shutdownTimer();
+        // Stop refreshing the old game's timer; we'll make a new one in the next line
+        if (hudTimer != null)
+            hudTimer.stop();
         HBox timerAndMineCount = createTimerAndMineCount();
 
-        mainVBox.getChildren().addAll(timerAndMineCount, gridPane, buttonRow);
+        // creates the initial blank board, leaving room around it for everything else
+        boardCanvas = new HexCanvas(controller, 0.75*SCREEN_WIDTH, 0.75*SCREEN_HEIGHT, HEX_RADIUS);
+        mainVBox.getChildren().addAll(timerAndMineCount, boardCanvas, buttonRow);
         mainVBox.setAlignment(Pos.CENTER);
 
-        // creates the initial blank board
-        createBoard(controller.getBoard(), gridPane);
         createScoreBoard(controller, mainPane);
 
         mainPane.getChildren().addAll(mainVBox);
@@ -179,17 +215,16 @@ public class MineSweeper extends Application implements Observer {
     /**
      * Adjusts constants in the program based on the size of the game board,
      * in order to rescale the board so it fits on screen.
+     * A board too large to fit at a readable size starts out zoomed in instead.
      * 
      * @param rows The size of the game board, in rows.
      * @param cols The size of the game board, in columns.
      */
     private void generateConstants(int rows, int cols) {
-        HEX_RADIUS = Math.min(SCREEN_HEIGHT/(rows*2), 30);
-        HEX_SIZE = Math.sqrt(HEX_RADIUS * HEX_RADIUS * 0.75);
-        SCENE_WIDTH = (int) (1.75*(cols + 2) * HEX_RADIUS);
-        SCENE_HEIGHT = (int) (1.5*(rows + 5) * HEX_RADIUS);
+        HEX_RADIUS = Math.max(Math.min(SCREEN_HEIGHT/(rows*2), 30), MIN_HEX_RADIUS);
+        SCENE_WIDTH = (int) Math.min(1.75*(cols + 2) * HEX_RADIUS, SCREEN_WIDTH);
+        SCENE_HEIGHT = (int) Math.min(1.5*(rows + 5) * HEX_RADIUS, SCREEN_HEIGHT);
         HEX_HEIGHT = 2* HEX_RADIUS;
-        HEX_WIDTH = 2*HEX_SIZE;
         MAIN_FONT_SIZE = HEX_HEIGHT/2;
         MAIN_FONT = new Font("Helvetica", MAIN_FONT_SIZE);
     }
@@ -201,8 +236,10 @@ public class MineSweeper extends Application implements Observer {
      * @param difficulty The string for the difficulty of game to set up.
      */
     private void createController(String difficulty) {
-        controller = new MineSweeperController(difficulty);
+        controller = new MineSweeperController(difficulty, noGuessGenerator);
+        controller.setNoGuess(noGuess);
         createDisplayFromController();
+        autoSaver.markDirty(); // so a new game replaces the old one in the autosave
     }
 
     /**
@@ -210,44 +247,39 @@ public class MineSweeper extends Application implements Observer {
      * after setting up the display.
      * 
      * @param file The file to load the game from.
-     * @throws IOException If file loading fails.
-     * @throws ClassNotFoundException If a MineSweeperTile[][] could not be loaded from the file information.
+     * @throws IOException If file loading fails, or the file does not hold a valid saved game.
+     */
+    private void createController(File file) throws IOException {
+        createController(SavedGame.read(file));
+    }
+
+    /**
+     * Creates a controller from a game that has already been read, from a file or the autosave.
+     *
+     * @param saved The game to load.
+     * @throws IOException If the saved game's board size does not match its difficulty.
      */
-    private void createController(File file) throws IOException, ClassNotFoundException {
-        controller = new MineSweeperController(file);
+    private void createController(SavedGame saved) throws IOException {
+        MineSweeperController loaded = new MineSweeperController("Normal");
+        loaded.loadGame(saved);
+        controller = loaded;
         createDisplayFromController();
-        update(null, controller.getBoard()); // we need to update the view with the newly-loaded board
+        update(null, null); // we need to update the view with the newly-loaded board
     }
 
     /**
      * Uses the information in the controller (namely the size of the board)
-     * to create an initial grid of hexagons of that size.
+     * to create an initial board of hexagons of that size.
      * 
      * This method also sets the current view to be the observer for the
      * controller's stored model.
      */
     private void createDisplayFromController() {
         generateConstants(controller.getRows(), controller.getCols());
-        animatedTiles = new HashSet<>();
         controller.setObserver(this); // add as observer for model (MineSweeperBoard)
-        rectGrid = new Hexagon[controller.getRows()][controller.getCols()];
-        labelGrid = new Label[controller.getRows()][controller.getCols()];
         stage.setScene(createScene());
     }
 
-    /**
-     *  Creates the blank game board of ROW x COL hexagons
-     * @param board - the board which we add tiles to
-     * @param gridPane - the central grid on the view to add hexagons to
-     */
-    private void createBoard(MineSweeperTile[][] board, AnchorPane gridPane) {
-        for (int row = 0; row < board.length; row++) {
-            for (int col = 0; col < board[row].length; col++) {
-                addHex(row, col, board, gridPane);
-            }
-        }
-    }
-
     /**
      * Creates a scoreboard from the top times for the current difficulty.
      * 
@@ -281,108 +313,61 @@ public class MineSweeper extends Application implements Observer {
     //////////// CREATING COMPONENTS FOR THE DISPLAY ////////////
 
     /**
-     * This inner class creates a hexagon which can be places on the board with an x and y position
-     * We calculate this x and y position inside the addHex method
-     * This generates a new polygon with the needed hex points
-     */
-    private static class Hexagon extends Polygon {
-        /**
-         * This is the constructor for a hexagon.
-         * It will create a hexagon to be placed at the given coordinates
-         * @param x - the x coordinate of the hexagon
-         * @param y - the y coordinate of the hexagon
-         */
-        Hexagon(double x, double y) {
-            // creates the polygon using the corner coordinates
-            getPoints().addAll(
-                    x, y,
-                    x, y + HEX_RADIUS,
-                    x + HEX_SIZE, y + HEX_RADIUS * 1.5,
-                    x + HEX_WIDTH, y + HEX_RADIUS,
-                    x + HEX_WIDTH, y,
-                    x + HEX_SIZE, y - HEX_RADIUS * 0.5
-            );
-
-            setStroke(Color.BLACK);
-        }
-    }
-
-    /**
-     * Creates a new rectangle object at the specified row and col
-     *
-     * @param row is the y coord
-     * @param col is the x coord
-     * @param board - the board of tiles, where each hex is a tile
-     * @param gridPane - the grid on the view full of hexagons
+     * Creates a timer that continually updates.
+     * An AnimationTimer runs on the JavaFX thread once per frame, so at most one refresh happens per frame
+     * and nothing is queued up behind it. It is stopped while the game is paused or over.
+     * @return - a text object which can be added to the screen and updated with the timer
      */
-    private void addHex(int row, int col, MineSweeperTile[][] board, AnchorPane gridPane) {
-        double yCoord = (row+1) * HEX_HEIGHT * 0.75;
-        double xCoord = (col+1) * HEX_WIDTH + ((row % 2) * HEX_SIZE);
-        Hexagon hex = new Hexagon(xCoord, yCoord);
-        hex.setFill(UNGUESSED.getColor());
-
-        Label label = new Label("");
-        label.setFont(MAIN_FONT);
-        label.setTranslateX(xCoord);
-        label.setTranslateY(yCoord);
-        label.setPadding(new Insets(HEX_HEIGHT/-8,0,0,HEX_WIDTH/3));
-
-        EventHandler clicker = event -> {
-            MouseEvent e = (MouseEvent) event;
-            if (e.getClickCount() == 2 && e.isPrimaryButtonDown()) {
-                // double click to reveal around
-                controller.updateTilesAround(row, col);
-
-            } else if (e.isPrimaryButtonDown()) {
-                // "step on" the tile
-                controller.updateTileStatus(row, col, GUESSED);
-
-                if (board[row][col] != null && e.getClickCount() == 1) {
-                    if (board[row][col].getStatus() == GUESSED) {
-                        animateTiles(row, col);
-                    }
-                    else if (board[row][col].getStatus() == BOMB)
-                        animateBombs(row, col);
-
-                }
+    private HBox createTimerAndMineCount() {
+        HBox gameInfo = new HBox(MAIN_FONT_SIZE);
+        gameInfo.setAlignment(Pos.CENTER);
+        gameInfo.setPadding(DEFAULT_INSETS);
 
-            } else if (e.isSecondaryButtonDown()) {
-                controller.updateTileStatus(row, col, FLAGGED);  // flag the tile
+        mineCountText = new Text();
+        timerText = new Text();
+        mineCountText.setFont(MAIN_FONT);
+        timerText.setFont(MAIN_FONT);
+        gameInfo.getChildren().addAll(mineCountText, timerText);
+
+        // force the first refresh to fill in both texts
+        shownFlags = -1;
+        shownHundredths = -1;
+        refreshTimerAndMineCount();
+
+        hudTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                refreshTimerAndMineCount();
             }
         };
-        hex.setOnMousePressed(clicker);
-        label.setOnMousePressed(clicker);
-
-        // adding it to the grids and groups
-        rectGrid[row][col] = hex;
-        labelGrid[row][col] = label;
-        gridPane.getChildren().add(hex);
-        gridPane.getChildren().add(label);
+        hudTimer.start();
+        return gameInfo;
     }
 
     /**
-     * Creates a timer that continually updates
-     * @return - a text object which can be added to the screen and updated with the timer
+     * Updates the timer and mine count texts, but only if the values they show have changed.
      */
-    private HBox createTimerAndMineCount() {
-        HBox gameInfo = new HBox(MAIN_FONT_SIZE);
-        gameInfo.setAlignment(Pos.CENTER);
-        gameInfo.setPadding(DEFAULT_INSETS);
-
-        Text mineCount = new Text();
-        Text timer = new Text();
-        mineCount.setFont(MAIN_FONT);
-        timer.setFont(MAIN_FONT);
-        gameInfo.getChildren().addAll(mineCount, timer);
+    private void refreshTimerAndMineCount() {
+        int flags = controller.getNumFlags();
+        if (flags != shownFlags) {
+            shownFlags = flags;
+            mineCountText.setText(flags + " / " + controller.getBombCount());
+        }
 
-        // platform.runlater so this runs after javafx has initialized
-        Runnable updateTimerRunner = () -> Platform.runLater(() -> {
-            mineCount.setText(controller.getMineCount());
-            timer.setText("Time: "+ String.format("%.2f", controller.getSecondsElapsed()));
-        });
+        long hundredths = Math.round(controller.getSecondsElapsed() * 100);
+        if (hundredths != shownHundredths) {
+            shownHundredths = hundredths;
+            timerText.setText("Time: "+ String.format("%.2f", hundredths / 100.0));
+        }
+    }
 
-        controller.createTimer(updateTimerRunner);
-        return gameInfo;
+    /**
+     * Finds one of the images packaged with the game.
+     * @param name - the file name of the image in the Images folder
+     * @return - the URL of the image, for loading it into an Image
+     */
+    private static String imageUrl(String name) {
+        return MineSweeper.class.getResource("/Images/" + name).toExternalForm();
     }
 
     /**
@@ -391,7 +376,7 @@ public class MineSweeper extends Application implements Observer {
      */
     private Button createPauseButton() {
         Button button = new Button();
-        Image pauseImage = new Image("file:Images/pause.png", 2*MAIN_FONT_SIZE, 2*MAIN_FONT_SIZE, true, false);
+        Image pauseImage = new Image(imageUrl("pause.png"), 2*MAIN_FONT_SIZE, 2*MAIN_FONT_SIZE, true, false);
         ImageView view = new ImageView(pauseImage);
         view.setFitHeight(2*MAIN_FONT_SIZE);
         view.setPreserveRatio(true);
@@ -406,7 +391,7 @@ public class MineSweeper extends Application implements Observer {
 
 
             else {
-                Image playImage = new Image("file:Images/play.png",
+                Image playImage = new Image(imageUrl("play.png"),
                         2*MAIN_FONT_SIZE, 2*MAIN_FONT_SIZE, true, false);
                 ImageView playView = new ImageView(playImage);
                 button.setGraphic(playView);
@@ -436,17 +421,18 @@ public class MineSweeper extends Application implements Observer {
 
             //Show save file dialog
             File f = fileChooser.showSaveDialog(stage);
-            if (f != null)
-                try {
-                    controller.saveGame(f);
-                } catch (IOException ex) {
-                    // alert for bad saving
-                    Alert alert = new Alert(Alert.AlertType.ERROR);
-                    alert.setTitle("HexSweeper");
-                    alert.setContentText(ex.getMessage());
-                    alert.setHeaderText("Error with Saving");
-                    alert.showAndWait();
-                }
+            if (f != null) // written in the background, the same way as the autosave
+                autoSaver.save(controller.encodeGame(), f.toPath(), true).whenComplete((done, ex) -> {
+                    if (ex != null)
+                        Platform.runLater(() -> {
+                            // alert for bad saving
+                            Alert alert = new Alert(Alert.AlertType.ERROR);
+                            alert.setTitle("HexSweeper");
+                            alert.setContentText(ex.getMessage());
+                            alert.setHeaderText("Error with Saving");
+                            alert.showAndWait();
+                        });
+                });
 
         	unpauseGame();
         });
@@ -460,7 +446,7 @@ public class MineSweeper extends Application implements Observer {
         		if (f != null)
                     try {
                         createController(f);
-                    } catch (IOException | ClassNotFoundException ex) {
+                    } catch (IOException ex) {
                         // alert for loading
                         Alert alert = new Alert(Alert.AlertType.ERROR);
                         alert.setTitle("HexSweeper");
@@ -475,6 +461,32 @@ public class MineSweeper extends Application implements Observer {
         resetButton.setOnAction(e -> chooseDiff());
     }
 
+    /**
+     * Highlights a tile that is certainly safe to reveal, or tells the player there isn't one.
+     * The highlight stays until the tile is revealed or flagged, and the board moves to it if it's out of sight.
+     */
+    private void showHint() {
+        if (controller.isGameOver() || controller.isGamePaused()) return;
+        int[] hint = controller.getHint();
+        if (hint == null) {
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("HexSweeper");
+            alert.setHeaderText("No safe tiles");
+            alert.setContentText("Nothing left on the board is certainly safe, so you'll have to guess.");
+            alert.show();
+            return;
+        }
+        boardCanvas.showHint(hint[0], hint[1]);
+    }
+
+    /**
+     * Colors every unrevealed tile by its chance of being a mine, from blue for certainly safe to red for certainly a mine.
+     * Flagged tiles keep their flag color. This runs after every move while the odds are shown.
+     */
+    private void showOdds() {
+        boardCanvas.setOdds(controller.getMineProbabilities()); // null before the first click, which shows nothing
+    }
+
     //////////// POP UP DISPLAYS ////////////
 
     /**
@@ -483,6 +495,8 @@ public class MineSweeper extends Application implements Observer {
      */
     private void displayGameOver() {
     	controller.disableTimer();
+    	hudTimer.stop();
+    	refreshTimerAndMineCount(); // show the final time
         String msg = "YOU WIN!";
         Paint p = GREEN_BACKGROUND;
         if (!controller.win()) { // checks with the controller if the player didn't win
@@ -557,19 +571,26 @@ public class MineSweeper extends Application implements Observer {
         Button normal = new Button("Normal");
         Button hard = new Button("Hard");
         Button veryHard = new Button("Very Hard");
+        Button custom = new Button("Custom...");
         veryEasy.setStyle(BUTTON_STYLE);
         easy.setStyle(BUTTON_STYLE);
         normal.setStyle(BUTTON_STYLE);
         hard.setStyle(BUTTON_STYLE);
         veryHard.setStyle(BUTTON_STYLE);
+        custom.setStyle(BUTTON_STYLE);
+
+        CheckBox noGuessBox = new CheckBox("No guessing");
+        noGuessBox.setTextFill(Color.WHITE);
+        noGuessBox.setSelected(noGuess);
+        noGuessBox.setOnAction(e -> noGuess = noGuessBox.isSelected());
 
         HBox buttonBox = new HBox();
-        buttonBox.getChildren().addAll(veryEasy, easy, normal, hard, veryHard);
+        buttonBox.getChildren().addAll(veryEasy, easy, normal, hard, veryHard, custom, noGuessBox);
         buttonBox.setBackground(new Background(
                 new BackgroundFill(GREEN_BACKGROUND, new CornerRadii(6.0), Insets.EMPTY)));
 
         diffPopUp(buttonBox, label, diffPop);
-        diffListener(veryEasy, easy, normal, hard, veryHard, diffPop);
+        diffListener(veryEasy, easy, normal, hard, veryHard, custom, diffPop);
     }
 
     /**
@@ -607,9 +628,11 @@ public class MineSweeper extends Application implements Observer {
      * @param normal - the button for normal
      * @param hard - the button for hard
      * @param veryHard - the button for very hard
+     * @param custom - the button for choosing the size and density of the board
      * @param diffPop - the stage for this popup (we need to close on every button press)
      */
-    private void diffListener(Button veryEasy, Button easy, Button normal, Button hard, Button veryHard, Stage diffPop) {
+    private void diffListener(Button veryEasy, Button easy, Button normal, Button hard, Button veryHard, Button custom,
+                              Stage diffPop) {
         veryEasy.setOnMousePressed(me -> {
             createController("Very Easy");
             diffPop.close();
@@ -630,52 +653,67 @@ public class MineSweeper extends Application implements Observer {
             createController("Very Hard");
             diffPop.close();
         });
+        custom.setOnMousePressed(me -> {
+            diffPop.close();
+            chooseCustom();
+        });
     }
 
-    //////////// ANIMATIONS ////////////
-
     /**
-     * Animates the reveal of a bomb tile by scaling and spinning it.
-     * 
-     * @param row The row of the bomb to animate.
-     * @param col The column of the bomb to animate.
+     * Sets up a popup for choosing the number of rows and columns of the board, and the percentage of its tiles
+     * that are mines. Boards with millions of tiles are fine, since only the part in sight is ever drawn.
      */
-	private void animateBombs(int row, int col) {
-		rectGrid[row][col].toFront();
-    	ScaleTransition big = new ScaleTransition(Duration.millis(400), rectGrid[row][col]);
-    	RotateTransition rt = new RotateTransition(Duration.millis(1000), rectGrid[row][col]);
-        rt.setByAngle(360);
-        rt.setCycleCount(1);
-        big.setByX(.2f);
-    	big.setByY(.2f);
-    	big.setCycleCount(2);
-    	rectGrid[row][col].toFront();
-    	big.setAutoReverse(true);
-    	big.play();
-    	rt.play();
-	}
-
-	/**
-	 * Animates the reveal of a tile by scaling it up and down in a "popping" motion.
-	 * 
-	 * @param row The row of the tile to animate.
-	 * @param col The column of the tile to animate.
-	 */
-	private void animateTiles(int row, int col) {
-        // make sure this is not already being animated
-        Pair<Integer, Integer> coords = new Pair<>(row, col);
-        if (animatedTiles.contains(coords)) return;
-        animatedTiles.add(coords);
-
-		ScaleTransition big = new ScaleTransition(Duration.millis(300), rectGrid[row][col]);
-    	big.setByX(.1f);
-    	big.setByY(.1f);
-    	big.setAutoReverse(true);
-    	big.setCycleCount(2);
-    	big.play();
-        // after animation, remove it from the animated tiles
-        big.setOnFinished(e -> animatedTiles.remove(coords));
-	}
+    private void chooseCustom() {
+        Stage customPop = new Stage();
+
+        Label label = new Label();
+        label.setText("Custom Board");
+        label.setTextFill(Color.WHITE);
+        label.setFont(MAIN_FONT);
+        label.setMaxWidth(Double.MAX_VALUE);
+        label.setAlignment(Pos.BOTTOM_CENTER);
+        label.setPadding(new Insets(20, 0, 0, 0));
+
+        TextField rows = new TextField(Integer.toString(controller.getRows()));
+        TextField cols = new TextField(Integer.toString(controller.getCols()));
+        TextField density = new TextField("20");
+        rows.setPrefColumnCount(5);
+        cols.setPrefColumnCount(5);
+        density.setPrefColumnCount(3);
+        Label rowsLabel = new Label("Rows");
+        Label colsLabel = new Label("Columns");
+        Label densityLabel = new Label("Mines %");
+        rowsLabel.setTextFill(Color.WHITE);
+        colsLabel.setTextFill(Color.WHITE);
+        densityLabel.setTextFill(Color.WHITE);
+        Button start = new Button("Start");
+        start.setStyle(BUTTON_STYLE);
+
+        HBox buttonBox = new HBox();
+        buttonBox.getChildren().addAll(rowsLabel, rows, colsLabel, cols, densityLabel, density, start);
+        buttonBox.setBackground(new Background(
+                new BackgroundFill(GREEN_BACKGROUND, new CornerRadii(6.0), Insets.EMPTY)));
+        diffPopUp(buttonBox, label, customPop);
+
+        start.setOnAction(e -> {
+            String difficulty;
+            try {
+                difficulty = Difficulty.customName(Integer.parseInt(rows.getText().trim()),
+                        Integer.parseInt(cols.getText().trim()), Double.parseDouble(density.getText().trim()));
+            } catch (IllegalArgumentException ex) {
+                // alert for a board that can't be played, including numbers that aren't numbers
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("HexSweeper");
+                alert.setContentText(ex instanceof NumberFormatException ? "Please enter whole numbers of rows and columns"
+                        + " and a percentage of mines." : ex.getMessage());
+                alert.setHeaderText("Error with Board Size");
+                alert.showAndWait();
+                return;
+            }
+            customPop.close();
+            createController(difficulty);
+        });
+    }
 
     //////////// UPDATE THE DISPLAY ////////////
     
@@ -684,6 +722,7 @@ public class MineSweeper extends Application implements Observer {
      */
     private void pauseGame() {
     	controller.disableTimer();
+    	hudTimer.stop();
     	setBoardOpacity(0.0);
     	setBoardDisabled(true);
     }
@@ -694,64 +733,51 @@ public class MineSweeper extends Application implements Observer {
      */
     private void unpauseGame() {
     	controller.enableTimer();
+    	hudTimer.start();
     	setBoardOpacity(1.0);
     	setBoardDisabled(false);
     }
     
     /**
-     * Sets every hexagon's opacity to the value given in the arguments
-     * @param opacity the opacity to set each hexagon to,
+     * Sets the board's opacity to the value given in the arguments.
+     * This is a single change to the canvas, which keeps what it has drawn, so nothing is drawn again afterwards.
+     * @param opacity the opacity to set the board to,
      *                0.0 being translucent, and 1.0 being fully opaque
      */
     private void setBoardOpacity(double opacity) {
-        for (int i = 0; i< rectGrid.length && i < labelGrid.length; i++) {
-            for (int j = 0; j < rectGrid[i].length && j < labelGrid[i].length; j++) {
-                rectGrid[i][j].setOpacity(opacity);
-                labelGrid[i][j].setOpacity(opacity);
-            }
-        }
+        boardCanvas.setOpacity(opacity);
     }
     
     /**
-     * Sets every hexagon and label to be disabled or enabled, true being disabled
-     * @param disabled True if elements are desired to be disabled
+     * Sets the board to be disabled or enabled, true being disabled
+     * @param disabled True if the board is desired to be disabled
      */
     private void setBoardDisabled(boolean disabled) {
-    	for (int i = 0; i< rectGrid.length && i < labelGrid.length; i++) {
-    		for (int j = 0; j < rectGrid[i].length && j < labelGrid[i].length; j++) {
-    			rectGrid[i][j].setDisable(disabled);
-                labelGrid[i][j].setDisable(disabled);
-    		}
-    	}
+    	boardCanvas.setDisable(disabled);
     }
 
     /**
      * Updates the view with the new board state, including calling game-over messages if the game has ended.
      *
+     * Only the tiles listed in the model's BoardChanges are drawn again, and only those in sight.
+     * Without them, such as after loading a game, everything in sight is drawn again.
+     *
      * @param o     the model
-     * @param arg   the MineSweeperTile[][] board from the model
+     * @param arg   the BoardChanges from the model, or null after loading a game
      */
     public void update(Observable o, Object arg) {
-        MineSweeperTile[][] board = (MineSweeperTile[][]) arg;
+        autoSaver.markDirty(); // saved on the next autosave, along with any other moves made before then
         if (controller.isGameOver())  {// checks with Controller if game is over
             displayGameOver(); // calls the method to display the game over msg if true
             return;
         }
 
-        // if the game isn't over, all the tiles are updated according to their enum
-        for (int row = 0; row < board.length; row++)
-            for (int col = 0; col < board[row].length; col++) {
-
-                rectGrid[row][col].setFill(board[row][col].getStatus().getColor());
-
-                // Reveals minecount of any guessed tiles
-                if (board[row][col].getMineCount() > 0 && board[row][col].getStatus().equals(GUESSED)) {
-                    labelGrid[row][col].setText(""+board[row][col].getMineCount());
-                    rectGrid[row][col].setFill(MINE_COUNT_TO_COLOR.get(board[row][col].getMineCount()));
-                }
-                else {
-                    labelGrid[row][col].setText("");
-                }
-            }
+        refreshTimerAndMineCount(); // flags only change here, so update the count right away
+        if (showOdds)
+            showOdds(); // any move can change the odds anywhere, so this draws everything in sight
+        else if (arg instanceof BoardChanges changes)
+            boardCanvas.tilesChanged(changes);
+        else
+            boardCanvas.redraw();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package View;
+
+import javafx.scene.paint.Color;
+import Utils.GUESS_STATUS;
+
+/**
+ * This class holds the colors used to draw the tiles of the board.
+ *
+ * The models only know a tile's status and number of adjacent mines, so this is where those are turned
+ * into colors. Both are looked up in small arrays, by the status's byte code and by the mine count,
+ * so drawing a tile never boxes a number or hashes anything.
+ */
+public final class TilePalette {
+
+    // indexed by GUESS_STATUS.code()
+    private static final Color[] STATUS_COLORS = {
+            Color.GREY,  // UNGUESSED
+            Color.WHITE, // GUESSED
+            Color.GREEN, // FLAGGED
+            Color.BLACK  // BOMB
+    };
+
+    /**
+     * The color a tile is drawn in while it is being suggested by the Hint button.
+     */
+    public static final Color HINT = Color.rgb(250, 215, 90);
+
+    // indexed by the number of adjacent mines, a revealed tile with no adjacent mines keeps its status color
+    private static final Color[] MINE_COUNT_COLORS = {
+            null,
+            Color.rgb(207, 236, 207),
+            Color.rgb(204, 236, 239),
+            Color.rgb(221, 212, 232),
+            Color.rgb(253, 222, 238),
+            Color.rgb(253, 202, 162),
+            Color.rgb(255, 105, 97)
+    };
+
+    // the heat map runs from a tile that is certainly safe to one that is certainly a mine
+    private static final Color SAFE_HEAT = Color.rgb(120, 200, 230);
+    private static final Color MINE_HEAT = Color.rgb(230, 80, 70);
+
+    private TilePalette() {}
+
+    /**
+     * Gets the color of a tile with the given status.
+     * @param status The status of the tile.
+     * @return The color to fill the tile with.
+     */
+    public static Color statusColor(GUESS_STATUS status) {
+        return STATUS_COLORS[status.code()];
+    }
+
+    /**
+     * Gets the color of a revealed tile with the given number of adjacent mines.
+     * @param mineCount The number of adjacent mines, from 1 to 6.
+     * @return The color to fill the tile with.
+     */
+    public static Color mineCountColor(int mineCount) {
+        return MINE_COUNT_COLORS[mineCount];
+    }
+
+    /**
+     * Gets the color of an unrevealed tile in the heat map, by the chance of it being a mine.
+     * @param probability The chance, from 0 to 1.
+     * @return The color to fill the tile with.
+     */
+    public static Color heatColor(double probability) {
+        return SAFE_HEAT.interpolate(MINE_HEAT, probability);
+    }
+}